@@ -0,0 +1,63 @@
+package blackjack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Card;
+import blackjack.Cards;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardBenchmark {
+    private Card[] cards;
+
+    @Setup
+    public void setUp() {
+        cards = new Card[Cards.CARD_COUNT];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = Card.of(i);
+        }
+    }
+
+    // Each benchmark walks the whole deck, so divide by 52 for one card.
+    @Benchmark
+    public int getValue() {
+        int sum = 0;
+        for (Card c : cards) {
+            sum += c.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int hashCodes() {
+        int sum = 0;
+        for (Card c : cards) {
+            sum += c.hashCode();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int primitiveValue() {
+        int sum = 0;
+        for (int i = 0; i < Cards.CARD_COUNT; i++) {
+            sum += Cards.value(i);
+        }
+        return sum;
+    }
+}
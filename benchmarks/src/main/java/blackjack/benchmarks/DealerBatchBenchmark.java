@@ -0,0 +1,47 @@
+package blackjack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.DealerBatch;
+import blackjack.DealerRule;
+import blackjack.RandomAlgorithm;
+import blackjack.Shoe;
+
+// One batch of dealer hands played to the end, with the vector kernel and
+// with the scalar fallback.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@State(Scope.Thread)
+public class DealerBatchBenchmark {
+    @Param({ "true", "false" })
+    private boolean vector;
+
+    private DealerBatch batch;
+
+    @Setup
+    public void setUp() {
+        batch = new DealerBatch(Shoe.DEFAULT_DECK_COUNT, DealerRule.STANDS_ON_SOFT_17,
+            RandomAlgorithm.DEFAULT.create(42), vector, DealerBatch.DEFAULT_LANE_COUNT);
+    }
+
+    @Benchmark
+    public long playBatch() {
+        batch.run(DealerBatch.DEFAULT_LANE_COUNT);
+        return batch.getHandCount();
+    }
+}
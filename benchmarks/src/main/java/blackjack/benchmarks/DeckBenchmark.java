@@ -0,0 +1,68 @@
+package blackjack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Card;
+import blackjack.Deck;
+import blackjack.RandomAlgorithm;
+import blackjack.Shoe;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+    // Cards dealt in a typical round: two starting hands plus a few hits.
+    private static final int CARDS_PER_ROUND = 6;
+
+    private Deck deck;
+    private Shoe shoe;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(1, RandomAlgorithm.DEFAULT.create(42));
+        shoe = new Shoe(Shoe.DEFAULT_DECK_COUNT, Shoe.DEFAULT_PENETRATION, RandomAlgorithm.DEFAULT.create(42));
+    }
+
+    @Benchmark
+    public int shuffleAndDealRound() {
+        deck.shuffle();
+        int sum = 0;
+        for (int i = 0; i < CARDS_PER_ROUND; i++) {
+            sum += deck.dealNextCardIndex();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Card shuffleAndDealCard() {
+        deck.shuffle();
+        return deck.dealNextCard();
+    }
+
+    // A round the way Table plays it, shuffling at the cut card rather than
+    // reshuffling the discards whenever the shoe runs dry mid-round.
+    @Benchmark
+    public int shoeRound() {
+        shoe.startRound();
+        int sum = 0;
+        for (int i = 0; i < CARDS_PER_ROUND; i++) {
+            sum += shoe.dealNextCardIndex();
+        }
+        shoe.endRound();
+        return sum;
+    }
+}
@@ -0,0 +1,63 @@
+package blackjack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import blackjack.Card;
+import blackjack.Hand;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandBenchmark {
+    // A soft hand that turns hard: A 6 then 9 and 4.
+    private Card[] cards;
+    private Hand hand;
+
+    @Setup
+    public void setUp() {
+        cards = new Card[] { Card.of('A', 's'), Card.of('6', 'd'), Card.of('9', 'h'), Card.of('4', 'c') };
+        hand = new Hand();
+    }
+
+    @Benchmark
+    public void addCardsAndGetSoftValue(Blackhole blackhole) {
+        hand.clear();
+        for (Card c : cards) {
+            hand.addCard(c);
+            blackhole.consume(hand.getSoftValue());
+        }
+    }
+
+    @Benchmark
+    public void startingHandQueries(Blackhole blackhole) {
+        hand.clear();
+        hand.addCard(cards[0]);
+        hand.addCard(cards[1]);
+        blackhole.consume(hand.isBlackjack());
+        blackhole.consume(hand.isPair());
+        blackhole.consume(hand.isBusted());
+    }
+
+    @Benchmark
+    public Hand newHand() {
+        Hand newHand = new Hand();
+        newHand.addCard(cards[0]);
+        newHand.addCard(cards[1]);
+        return newHand;
+    }
+}
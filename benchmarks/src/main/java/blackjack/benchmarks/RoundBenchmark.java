@@ -0,0 +1,76 @@
+package blackjack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Bankroll;
+import blackjack.BasicStrategy;
+import blackjack.Card;
+import blackjack.Hand;
+import blackjack.HandOption;
+import blackjack.PlayerStrategy;
+import blackjack.RandomAlgorithm;
+import blackjack.Shoe;
+import blackjack.Table;
+import blackjack.TableListener;
+
+// Full headless rounds through Table, the unit every simulation is built on.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundBenchmark {
+    private Table basicStrategyTable;
+    private Table splitAndDoubleTable;
+    private Bankroll bankroll;
+
+    // Splits every pair and doubles every starting hand, so the split and
+    // double down paths run as often as possible.
+    private static final class SplitAndDoubleStrategy implements PlayerStrategy {
+        public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+            return true;
+        }
+
+        public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+            return true;
+        }
+
+        public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard,
+            boolean allowDoubleDown) {
+            return allowDoubleDown ? HandOption.DOUBLE_DOWN : HandOption.STAY;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        basicStrategyTable = new Table(newShoe(), new BasicStrategy(), new TableListener() {});
+        splitAndDoubleTable = new Table(newShoe(), new SplitAndDoubleStrategy(), new TableListener() {});
+        bankroll = Bankroll.unlimited();
+    }
+
+    @Benchmark
+    public long basicStrategyRound() {
+        return basicStrategyTable.playRound(1, bankroll);
+    }
+
+    @Benchmark
+    public long splitAndDoubleRound() {
+        return splitAndDoubleTable.playRound(1, bankroll);
+    }
+
+    private static Shoe newShoe() {
+        return new Shoe(Shoe.DEFAULT_DECK_COUNT, Shoe.DEFAULT_PENETRATION, RandomAlgorithm.DEFAULT.create(42));
+    }
+}
@@ -0,0 +1,91 @@
+package blackjack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.BlackjackPayout;
+import blackjack.HandState;
+import blackjack.RandomAlgorithm;
+import blackjack.Settlement;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SettlementBenchmark {
+    private static final int HAND_COUNT = 4096;
+
+    // Random finished player and dealer hands, so the branches of the
+    // comparison are as hard to predict as at a real table.
+    private int[] playerStates;
+    private int[] dealerStates;
+
+    @Setup
+    public void setUp() {
+        RandomGenerator randomizer = RandomAlgorithm.DEFAULT.create(42);
+        playerStates = new int[HAND_COUNT];
+        dealerStates = new int[HAND_COUNT];
+        for (int i = 0; i < HAND_COUNT; i++) {
+            playerStates[i] = randomHand(randomizer, 12 + randomizer.nextInt(8));
+            dealerStates[i] = randomHand(randomizer, 17);
+        }
+    }
+
+    // Draw until the hand is worth at least target.
+    private static int randomHand(RandomGenerator randomizer, int target) {
+        int state = HandState.EMPTY;
+        while (HandState.softValue(state) < target) {
+            state = HandState.addCard(state, randomizer.nextInt(52));
+        }
+        return state;
+    }
+
+    @Benchmark
+    public long matrix() {
+        BlackjackPayout payout = BlackjackPayout.THREE_TO_TWO;
+        long returned = 0;
+        for (int i = 0; i < HAND_COUNT; i++) {
+            int entry = payout.settle(Settlement.code(playerStates[i], true),
+                Settlement.code(dealerStates[i], true));
+            returned += Settlement.returnUnits(entry);
+        }
+        return returned;
+    }
+
+    // The comparison Table made before the settlement matrix.
+    @Benchmark
+    public long branches() {
+        long returned = 0;
+        for (int i = 0; i < HAND_COUNT; i++) {
+            int player = playerStates[i];
+            int dealer = dealerStates[i];
+            if (HandState.isBlackjack(player)) {
+                returned += HandState.isBlackjack(dealer) ? 10 : 25;
+            }
+            else if (HandState.isBlackjack(dealer) || HandState.isBusted(player)) {
+                continue;
+            }
+            else if (HandState.isBusted(dealer)
+                || HandState.softValue(player) > HandState.softValue(dealer)) {
+                returned += 20;
+            }
+            else if (HandState.softValue(player) == HandState.softValue(dealer)) {
+                returned += 10;
+            }
+        }
+        return returned;
+    }
+}
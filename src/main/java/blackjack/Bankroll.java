@@ -0,0 +1,117 @@
+package blackjack;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// A player's chips, counted exactly in ledger units of a tenth of a chip, fine
+// enough for every payout the rules allow: half a bet of insurance or
+// surrender, and a 3:2 or 6:5 blackjack.
+//
+// A table reserves every stake the moment it is placed and credits all of a
+// round's returns, split hands and insurance included, in one atomic update
+// when the round is over. Reservations are compare-and-set on the balance, so
+// any number of tables can play against one bankroll without locks and the
+// balance never goes below zero.
+public final class Bankroll {
+    public static final int UNITS_PER_CHIP = 10;
+
+    private final AtomicLong units;
+    // Never refuses a stake. The balance starts at zero and is the net result;
+    // stakes are not taken out one by one, only the round's net is applied.
+    private final boolean unlimited;
+
+    public Bankroll(long chips) {
+        if (chips < 0) {
+            throw new IllegalArgumentException("A bankroll cannot start below zero.");
+        }
+        units = new AtomicLong(UNITS_PER_CHIP * chips);
+        unlimited = false;
+    }
+
+    private Bankroll() {
+        units = new AtomicLong();
+        unlimited = true;
+    }
+
+    // A bankroll that covers any bet, for simulations that only want the
+    // net result.
+    public static Bankroll unlimited() {
+        return new Bankroll();
+    }
+
+    // A bankroll holding an exact balance, such as where another session
+    // left off.
+    static Bankroll ofUnits(long units) {
+        assert units >= 0;
+        Bankroll bankroll = new Bankroll(0);
+        bankroll.units.set(units);
+        return bankroll;
+    }
+
+    // Ledger units as chips, for display.
+    public static double toChips(long units) {
+        return (double)units / UNITS_PER_CHIP;
+    }
+
+    public boolean isUnlimited() {
+        return unlimited;
+    }
+
+    public long getUnits() {
+        return units.get();
+    }
+
+    public double getChips() {
+        return toChips(units.get());
+    }
+
+    // Whole chips that can be bet right now.
+    public long getAvailableChips() {
+        return isUnlimited() ? Long.MAX_VALUE : Math.floorDiv(units.get(), UNITS_PER_CHIP);
+    }
+
+    public boolean covers(long amount) {
+        return isUnlimited() || units.get() >= amount;
+    }
+
+    // Take a stake out of the bankroll. Returns false, leaving the balance
+    // alone, if it does not cover the amount.
+    public boolean reserve(long amount) {
+        if (isUnlimited()) {
+            return true;
+        }
+
+        long balance = units.get();
+        while (balance >= amount) {
+            if (units.compareAndSet(balance, balance - amount)) {
+                return true;
+            }
+            balance = units.get();
+        }
+        return false;
+    }
+
+    // Take as many whole chips as the bankroll covers, up to maxChips, and
+    // return the number of chips taken.
+    public int reserveChips(int maxChips) {
+        if (isUnlimited()) {
+            return maxChips;
+        }
+
+        while (true) {
+            long balance = units.get();
+            int chips = (int)Math.min(maxChips, Math.floorDiv(balance, UNITS_PER_CHIP));
+            if (chips <= 0) {
+                return 0;
+            }
+            if (units.compareAndSet(balance, balance - (long)UNITS_PER_CHIP * chips)) {
+                return chips;
+            }
+        }
+    }
+
+    // Settle a round whose stakes were reserved: pay back stakes and winnings.
+    public void settle(long staked, long returned) {
+        assert staked >= 0 && returned >= 0;
+        units.addAndGet(isUnlimited() ? returned - staked : returned);
+    }
+}
@@ -0,0 +1,83 @@
+package blackjack;
+
+// Standard basic strategy for dealer stands on soft 17 with double after split.
+// Never takes insurance.
+public final class BasicStrategy implements PlayerStrategy {
+    // Columns are the dealer up card 2, 3, 4, 5, 6, 7, 8, 9, T, A.
+    // H-hit  S-stay  D-double or hit  X-double or stay  P-split
+    private static final String[] HARD = {
+        "HHHHHHHHHH", // 4
+        "HHHHHHHHHH", // 5
+        "HHHHHHHHHH", // 6
+        "HHHHHHHHHH", // 7
+        "HHHHHHHHHH", // 8
+        "HDDDDHHHHH", // 9
+        "DDDDDDDDHH", // 10
+        "DDDDDDDDDH", // 11
+        "HHSSSHHHHH", // 12
+        "SSSSSHHHHH", // 13
+        "SSSSSHHHHH", // 14
+        "SSSSSHHHHH", // 15
+        "SSSSSHHHHH", // 16
+    };
+    private static final String[] SOFT = {
+        "HHHHHHHHHH", // 12
+        "HHHDDHHHHH", // 13
+        "HHHDDHHHHH", // 14
+        "HHDDDHHHHH", // 15
+        "HHDDDHHHHH", // 16
+        "HDDDDHHHHH", // 17
+        "SXXXXSSHHH", // 18
+    };
+    private static final String[] PAIRS = {
+        "PPPPPPPPPP", // A-A
+        "PPPPPPHHHH", // 2-2
+        "PPPPPPHHHH", // 3-3
+        "HHHPPHHHHH", // 4-4
+        "HHHHHHHHHH", // 5-5
+        "PPPPPHHHHH", // 6-6
+        "PPPPPPHHHH", // 7-7
+        "PPPPPPPPPP", // 8-8
+        "PPPPPSPPSS", // 9-9
+        "SSSSSSSSSS", // T-T
+    };
+
+    public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+        return false;
+    }
+
+    public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+        int pairValue = playerHand.getFirstCard().getValue();
+        return PAIRS[pairValue - 1].charAt(column(dealerUpCard)) == 'P';
+    }
+
+    public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown) {
+        int hardValue = playerHand.getHardValue();
+        int softValue = playerHand.getSoftValue();
+        char action;
+
+        if (softValue != hardValue) {
+            action = softValue >= 19 ? 'S' : SOFT[softValue - 12].charAt(column(dealerUpCard));
+        }
+        else {
+            action = hardValue >= 17 ? 'S' : HARD[hardValue - 4].charAt(column(dealerUpCard));
+        }
+
+        switch (action) {
+            case 'D':
+                return allowDoubleDown ? HandOption.DOUBLE_DOWN : HandOption.HIT;
+            case 'X':
+                return allowDoubleDown ? HandOption.DOUBLE_DOWN : HandOption.STAY;
+            case 'H':
+                return HandOption.HIT;
+            default:
+                return HandOption.STAY;
+        }
+    }
+
+    private static int column(Card dealerUpCard) {
+        // Aces are worth 1, so they go in the last column.
+        int value = dealerUpCard.getValue();
+        return value == 1 ? 9 : value - 2;
+    }
+}
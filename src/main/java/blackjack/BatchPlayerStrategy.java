@@ -0,0 +1,38 @@
+package blackjack;
+
+// Makes the decisions of many tables in one call, so a strategy that is
+// costly to evaluate (a large table, a neural network) can spread the cost
+// over every table waiting on it. BatchSimulator gathers one decision from
+// each of its tables into a DecisionBatch and hands it over at once.
+public interface BatchPlayerStrategy {
+    // Answer every decision point in the batch with setAnswer or
+    // setHandOption. Called from one thread at a time.
+    void decide(DecisionBatch batch);
+
+    // Each table's decisions made by its own PlayerStrategy, one decision
+    // point at a time. The strategies are indexed by table.
+    static BatchPlayerStrategy perTable(PlayerStrategy[] strategies) {
+        return batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                PlayerStrategy strategy = strategies[batch.getTable(i)];
+                Hand hand = batch.getHand(i);
+                Card upCard = batch.getDealerUpCard(i);
+                switch (batch.getKind(i)) {
+                    case INSURANCE:
+                        batch.setAnswer(i, strategy.takeInsurance(hand, upCard));
+                        break;
+                    case SURRENDER:
+                        batch.setAnswer(i, strategy.surrender(hand, upCard));
+                        break;
+                    case SPLIT:
+                        batch.setAnswer(i, strategy.splitPair(hand, upCard));
+                        break;
+                    case HAND_OPTION:
+                        batch.setHandOption(i,
+                            strategy.chooseHandOption(hand, upCard, batch.isDoubleDownAllowed(i)));
+                        break;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+// Plays many tables against one BatchPlayerStrategy. Every table runs the
+// ordinary Simulator on its own virtual thread, with a PlayerStrategy that
+// parks the thread at each decision. Once every table still playing is
+// waiting, their decisions go to the strategy in one DecisionBatch and the
+// tables carry on, so the tables move in lockstep, one decision each per
+// batch. Tables get their own Shoe and random stream from RandomStreams and
+// are merged in order, so a seed gives the same result as long as the
+// strategy answers each decision point the same way.
+public final class BatchSimulator {
+    private static final int DEFAULT_TABLE_COUNT = 1024;
+    private static final long DEFAULT_ROUNDS = 10000000L;
+
+    private int tableCount;
+    private TableRules rules;
+    private RandomAlgorithm algorithm;
+    // Gets the shoes of all tables, indexed by table, before play starts.
+    private Function<Shoe[], BatchPlayerStrategy> strategyFactory;
+    private Function<Shoe, BetPolicy> betPolicyFactory;
+    private long batchCount;
+    private long decisionCount;
+
+    public BatchSimulator(int tableCount, TableRules rules, RandomAlgorithm algorithm,
+        Function<Shoe[], BatchPlayerStrategy> strategyFactory, Function<Shoe, BetPolicy> betPolicyFactory) {
+        assert tableCount >= 1;
+        this.tableCount = tableCount;
+        this.rules = rules;
+        this.algorithm = algorithm;
+        this.strategyFactory = strategyFactory;
+        this.betPolicyFactory = betPolicyFactory;
+    }
+
+    public static void main(String[] args) {
+        final TableRules rules = TableRules.fromArgs(args);
+        RandomAlgorithm algorithm = RandomAlgorithm.fromArgs(args);
+        args = Options.positional(args);
+
+        long rounds = DEFAULT_ROUNDS;
+        long seed = System.nanoTime();
+        int tableCount = DEFAULT_TABLE_COUNT;
+        if (args.length > 0) {
+            rounds = Long.parseLong(args[0]);
+        }
+        if (args.length > 1) {
+            seed = Long.parseLong(args[1]);
+        }
+        if (args.length > 2) {
+            tableCount = Integer.parseInt(args[2]);
+        }
+        final String strategyName = args.length > 3 ? args[3] : "table";
+        final String betting = args.length > 4 ? args[4] : "flat";
+
+        BatchSimulator simulator = new BatchSimulator(tableCount, rules, algorithm,
+            shoes -> newStrategy(strategyName, shoes, rules),
+            shoe -> Simulator.newBetPolicy(betting, shoe));
+        System.out.printf("Seed %d (%s), %d tables%n", seed, algorithm, tableCount);
+        SimulationResult result = simulator.run(rounds, seed);
+        System.out.println(result);
+        System.out.printf("%d batches of %.1f decisions on average%n", simulator.getBatchCount(),
+            (double) simulator.getDecisionCount() / Math.max(1, simulator.getBatchCount()));
+    }
+
+    // "table" solves one strategy table for a full shoe and answers each
+    // batch from it; the names Simulator knows give every table its own
+    // strategy, asked one decision at a time.
+    static BatchPlayerStrategy newStrategy(String name, Shoe[] shoes, TableRules rules) {
+        if (name.equals("table")) {
+            return StrategySolver.solve(shoes[0].getComposition(), rules);
+        }
+        PlayerStrategy[] strategies = new PlayerStrategy[shoes.length];
+        for (int i = 0; i < shoes.length; i++) {
+            strategies[i] = Simulator.newStrategy(name, shoes[i], rules);
+        }
+        return BatchPlayerStrategy.perTable(strategies);
+    }
+
+    public SimulationResult run(long rounds, long seed) {
+        RandomStreams streams = new RandomStreams(algorithm, seed);
+        Shoe[] shoes = new Shoe[tableCount];
+        for (int i = 0; i < tableCount; i++) {
+            RandomGenerator randomizer = streams.next();
+            shoes[i] = rules.newShoe(randomizer);
+        }
+        final Batcher batcher = new Batcher(strategyFactory.apply(shoes), tableCount);
+
+        List<Callable<SimulationResult>> tables = new ArrayList<Callable<SimulationResult>>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            // Spread the remainder over the first tables.
+            final long tableRounds = rounds / tableCount + (i < rounds % tableCount ? 1 : 0);
+            final Simulator simulator = new Simulator(shoes[i], batcher.newPlayer(i),
+                betPolicyFactory.apply(shoes[i]), rules);
+            tables.add(new Callable<SimulationResult>() {
+                public SimulationResult call() {
+                    try {
+                        return simulator.run(tableRounds);
+                    }
+                    finally {
+                        batcher.tableFinished();
+                    }
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        SimulationResult result = new SimulationResult(0, 0, 0, 0, 0, new HandStatistics());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (Future<SimulationResult> table : executor.invokeAll(tables)) {
+                result = result.merge(table.get());
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted.", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed.", e.getCause());
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        batchCount = batcher.batchCount;
+        decisionCount = batcher.decisionCount;
+        return result.withElapsedNanos(System.nanoTime() - startTime);
+    }
+
+    // Batches made by the last run.
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    public long getDecisionCount() {
+        return decisionCount;
+    }
+
+    // Gathers the decision points of the waiting tables. Two batches take
+    // turns: the tables woken from one read their answers while the next
+    // fills, and that one cannot fill up until every one of them has moved on,
+    // so a batch is never cleared under a table still reading it.
+    private static final class Batcher {
+        private static final HandOption[] HAND_OPTIONS = HandOption.values();
+
+        private BatchPlayerStrategy strategy;
+        private ReentrantLock lock = new ReentrantLock();
+        private Condition decided = lock.newCondition();
+        private DecisionBatch[] batches;
+        private long generation;
+        private int activeTables;
+        private RuntimeException failure;
+        private long batchCount;
+        private long decisionCount;
+
+        Batcher(BatchPlayerStrategy strategy, int tableCount) {
+            this.strategy = strategy;
+            this.batches = new DecisionBatch[] { new DecisionBatch(tableCount), new DecisionBatch(tableCount) };
+            this.activeTables = tableCount;
+        }
+
+        PlayerStrategy newPlayer(final int table) {
+            return new PlayerStrategy() {
+                public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+                    return decide(table, DecisionBatch.Kind.INSURANCE, playerHand, dealerUpCard, false) != 0;
+                }
+
+                public boolean surrender(Hand playerHand, Card dealerUpCard) {
+                    return decide(table, DecisionBatch.Kind.SURRENDER, playerHand, dealerUpCard, false) != 0;
+                }
+
+                public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+                    return decide(table, DecisionBatch.Kind.SPLIT, playerHand, dealerUpCard, false) != 0;
+                }
+
+                public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown) {
+                    return HAND_OPTIONS[decide(table, DecisionBatch.Kind.HAND_OPTION, playerHand,
+                        dealerUpCard, allowDoubleDown)];
+                }
+            };
+        }
+
+        // Wait for the batch this decision lands in and return its answer.
+        private int decide(int table, DecisionBatch.Kind kind, Hand hand, Card upCard, boolean allowDoubleDown) {
+            lock.lock();
+            try {
+                long batchGeneration = generation;
+                DecisionBatch batch = batches[(int) (batchGeneration & 1)];
+                int slot = batch.add(table, kind, hand, upCard, allowDoubleDown);
+                if (batch.size() == activeTables) {
+                    flush();
+                }
+                else {
+                    while (generation == batchGeneration) {
+                        decided.awaitUninterruptibly();
+                    }
+                }
+                if (failure != null) {
+                    throw new IllegalStateException("Batch strategy failed.", failure);
+                }
+                return batch.getAnswer(slot);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        void tableFinished() {
+            lock.lock();
+            try {
+                activeTables--;
+                DecisionBatch batch = batches[(int) (generation & 1)];
+                if (batch.size() > 0 && batch.size() == activeTables) {
+                    flush();
+                }
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        private void flush() {
+            DecisionBatch batch = batches[(int) (generation & 1)];
+            if (failure == null) {
+                try {
+                    strategy.decide(batch);
+                }
+                catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            batchCount++;
+            decisionCount += batch.size();
+            generation++;
+            batches[(int) (generation & 1)].clear();
+            decided.signalAll();
+        }
+    }
+}
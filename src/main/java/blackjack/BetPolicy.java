@@ -0,0 +1,7 @@
+package blackjack;
+
+// Decides the bet for the next round, in place of asking the player.
+public interface BetPolicy {
+    // Must be at least 1 and at most availableChips.
+    int betAmount(long availableChips);
+}
@@ -0,0 +1,26 @@
+package blackjack;
+
+// Raises the bet with the true count: one unit up to a true count of +1, then
+// one more unit for every point of true count, capped at maxUnits.
+public final class BetSpread implements BetPolicy {
+    private CountingSystem system;
+    private Shoe shoe;
+    private int unit;
+    private int maxUnits;
+
+    public BetSpread(CountingSystem system, Shoe shoe, int unit, int maxUnits) {
+        if (unit < 1 || maxUnits < 1) {
+            throw new IllegalArgumentException("The bet unit and spread must be at least 1.");
+        }
+        this.system = system;
+        this.shoe = shoe;
+        this.unit = unit;
+        this.maxUnits = maxUnits;
+    }
+
+    public int betAmount(long availableChips) {
+        int trueCount = (int)Math.floor(system.trueCount(shoe));
+        int units = Math.max(1, Math.min(trueCount, maxUnits));
+        return (int)Math.min(units * unit, availableChips);
+    }
+}
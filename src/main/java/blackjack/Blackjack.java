@@ -0,0 +1,377 @@
+package blackjack;
+
+import java.io.BufferedReader;
+import java.io.Console;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+public final class Blackjack {
+    private static int OPTION_PROMPT_PAUSE_TIME= 1000;
+    private static int BET_PROMPT_PAUSE_TIME = 500;
+
+    private BufferedReader in;
+    private PrintWriter out;
+    private Commentary commentary;
+    private Shoe shoe;
+    private Table table;
+    // Solved strategy for the shoe, used for hints. Null when hints are off.
+    private CompositionStrategy adviser;
+    // Infinite deck values shown at every decision. Null when not shown.
+    private InfiniteDeckEv evaluator;
+    private Bankroll bankroll;
+
+    private enum GameOption { DEAL, QUIT }
+
+    // Thrown when the player's input ends in the middle of a game.
+    private static final class PlayerLeftException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    // A game reads the player's input from one stream and writes to another,
+    // so it can run at the console or over a network connection.
+    public Blackjack(BufferedReader in, PrintWriter out, Pacing pacing, boolean showHints,
+        TableRules rules) {
+        this(in, out, pacing, showHints, false, rules, null);
+    }
+
+    // With showEv the game prints the infinite deck EV of every choice at
+    // each decision. The listener, if not null, sees every event after the
+    // commentary, e.g. to record metrics.
+    public Blackjack(BufferedReader in, PrintWriter out, Pacing pacing, boolean showHints,
+        boolean showEv, TableRules rules, TableListener listener) {
+        assert in != null && out != null;
+        this.in = in;
+        this.out = out;
+
+        shoe = rules.newShoe(RandomAlgorithm.DEFAULT.create());
+        commentary = new Commentary(new CommentarySink(out, pacing));
+        table = new Table(shoe, new ConsolePlayer(),
+            listener == null ? commentary : new ListenerPair(commentary, listener), rules);
+        adviser = showHints ? new CompositionStrategy(shoe, rules) : null;
+        evaluator = showEv ? InfiniteDeckEv.forRules(rules) : null;
+        bankroll = new Bankroll(100);
+    }
+
+    public static void main(String[] args) {
+        Console console = System.console();
+        // Running game from outside a console is not supported!
+        if (console == null)
+            return;
+
+        TableRules rules = TableRules.fromArgs(args);
+        Pacing pacing = Pacing.NORMAL;
+        boolean showHints = false;
+        boolean showEv = false;
+        for (String arg : args) {
+            if (arg.equals("--hints")) {
+                showHints = true;
+            }
+            else if (arg.equals("--ev")) {
+                showEv = true;
+            }
+            else if (arg.equals("--turbo")) {
+                pacing = Pacing.TURBO;
+            }
+            else if (arg.equals("--no-delay")) {
+                pacing = Pacing.NONE;
+            }
+        }
+
+        Blackjack game = new Blackjack(new BufferedReader(console.reader()), console.writer(), pacing,
+            showHints, showEv, rules, null);
+        game.play();
+    }
+
+    // Play until the user quits, runs out of chips or their input ends. The
+    // commentary is closed afterwards, so a game plays only once.
+    public void play() {
+        try {
+            playUntilDone();
+        }
+        catch (PlayerLeftException e) {
+            // Nobody left to talk to; the round in progress is abandoned.
+        }
+        finally {
+            commentary.close();
+        }
+    }
+
+    private void playUntilDone() {
+        boolean gameIsDone = false;
+
+        commentary.printWelcome();
+
+        while (!gameIsDone && bankroll.getAvailableChips() >= 1) {
+            GameOption gameOption = getValidGameOption();
+
+            if (gameOption == GameOption.QUIT) {
+                gameIsDone = true;
+                commentary.printGoodbye();
+            }
+            else {
+                assert gameOption == GameOption.DEAL;
+
+                int betAmount = getValidBetAmount();
+                assert betAmount >= 1 && betAmount <= bankroll.getAvailableChips();
+
+                table.playRound(betAmount, bankroll);
+
+                // The minimum bet is 1 chip.
+                assert bankroll.getUnits() >= 0;
+                if (bankroll.getAvailableChips() < 1) {
+                    commentary.printOutOfChips();
+                }
+            }
+        }
+
+        // Let the last of the commentary render before the game exits.
+        commentary.awaitIdle();
+    }
+
+    private GameOption getValidGameOption() {
+        pauseForEffect(OPTION_PROMPT_PAUSE_TIME);
+
+        // Get a valid game option from user. Repeatedly prompt until option is valid.
+        String str;
+        while (true) {
+            str = readLine("[d-deal  q-quit]: ");
+            if (str.equals("d") || str.equals("q")) {
+                break;
+            }
+        }
+
+        switch (str) {
+            case "d":
+                return GameOption.DEAL;
+            case "q":
+                return GameOption.QUIT;
+            default:
+                assert false;
+                return GameOption.QUIT;
+        }
+    }
+
+    private int getValidBetAmount() {
+        pauseForEffect(BET_PROMPT_PAUSE_TIME);
+
+        if (adviser != null) {
+            commentary.printHint(String.format("Hi-Lo true count %+.1f",
+                CountingSystem.HI_LO.trueCount(shoe)));
+        }
+
+        // Repeatedly prompt until a valid bet amount is entered.
+        // We need the try block because parseInt throws.
+        int maxBet = (int)Math.min(bankroll.getAvailableChips(), Integer.MAX_VALUE);
+        while (true) {
+            try {
+                String betStr = readLine("[Enter bet amount (1-%d)]: ", maxBet);
+                int betAmount = Integer.parseInt(betStr);
+
+                if (betAmount >= 1 && betAmount <= maxBet)
+                    return betAmount;
+            }
+            catch (NumberFormatException e) {
+                continue;
+            }
+        }
+    }
+
+    private HandOption getValidStartingHandOption() {
+        pauseForEffect(OPTION_PROMPT_PAUSE_TIME);
+
+        // Get a valid initial hand option from user. Repeatedly prompt until option is valid.
+        // Needed because initially the player has more than simply hit/stay.
+        String str;
+        while (true) {
+            str = readLine("[s-stay  h-hit  d-double]: ");
+            if (str.equals("s") || str.equals("h") || str.equals("d")) {
+                break;
+            }
+        }
+
+        switch (str) {
+            case "s":
+                return HandOption.STAY;
+            case "h":
+                return HandOption.HIT;
+            case "d":
+                return HandOption.DOUBLE_DOWN;
+            default:
+                assert false;
+                return HandOption.STAY;
+        }
+    }
+
+    private HandOption getValidHandOption() {
+        pauseForEffect(OPTION_PROMPT_PAUSE_TIME);
+
+        // Get a valid hand option from user. Repeatedly prompt until option is valid.
+        String str;
+        while (true) {
+            str = readLine("[s-stay  h-hit]: ");
+            if (str.equals("s") || str.equals("h"))
+                break;
+        }
+
+        switch (str) {
+            case "s":
+                return HandOption.STAY;
+            case "h":
+                return HandOption.HIT;
+            default:
+                assert false;
+                return HandOption.STAY;
+        }
+    }
+
+    private boolean getValidInsuranceDecision() {
+        pauseForEffect(OPTION_PROMPT_PAUSE_TIME);
+
+        String str;
+        while (true) {
+            str = readLine("[Take insurance? (y/n)]: ");
+            if (str.equals("y")) {
+                return true;
+            }
+            else if (str.equals("n")) {
+                return false;
+            }
+        }
+    }
+
+    private boolean getValidSurrenderDecision() {
+        pauseForEffect(OPTION_PROMPT_PAUSE_TIME);
+
+        String str;
+        while (true) {
+            str = readLine("[Surrender? (y/n)]: ");
+            if (str.equals("y")) {
+                return true;
+            }
+            else if (str.equals("n")) {
+                return false;
+            }
+        }
+    }
+
+    private boolean getValidSplitDecision() {
+        pauseForEffect(OPTION_PROMPT_PAUSE_TIME);
+
+        String str;
+        while (true) {
+            str = readLine("[Split the pair? (y/n)]: ");
+            if (str.equals("y")) {
+                return true;
+            }
+            else if (str.equals("n")) {
+                return false;
+            }
+        }
+    }
+
+    private String readLine(String format, Object... args) {
+        out.printf(format, args);
+        out.flush();
+
+        try {
+            String line = in.readLine();
+            if (line == null) {
+                throw new PlayerLeftException();
+            }
+            return line.trim();
+        }
+        catch (IOException e) {
+            throw new PlayerLeftException();
+        }
+    }
+
+    private static String describe(HandOption handOption) {
+        switch (handOption) {
+            case HIT:
+                return "hit";
+            case DOUBLE_DOWN:
+                return "double";
+            default:
+                return "stay";
+        }
+    }
+
+    private void pauseForEffect(int milliseconds) {
+        // Pause for effect before a prompt. The commentary is still being
+        // rendered, so wait for it before asking for input.
+        commentary.pauseForEffect(milliseconds);
+        commentary.awaitIdle();
+    }
+
+    // Inner class that asks the player for every decision.
+    private final class ConsolePlayer implements PlayerStrategy {
+        public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+            if (adviser != null) {
+                boolean take = adviser.takeInsurance(playerHand, dealerUpCard);
+                commentary.printHint(take ? "take insurance" : "no insurance");
+            }
+            if (evaluator != null) {
+                commentary.printEv(String.format("insurance %+.3f", evaluator.insurance()));
+            }
+            return getValidInsuranceDecision();
+        }
+
+        // Only asked when the table offers surrender.
+        public boolean surrender(Hand playerHand, Card dealerUpCard) {
+            if (adviser != null) {
+                boolean surrender = adviser.surrender(playerHand, dealerUpCard);
+                commentary.printHint(surrender ? "surrender" : "don't surrender");
+            }
+            if (evaluator != null) {
+                int upCard = dealerUpCard.getValue();
+                int state = playerHand.getState();
+                double playOn = evaluator.best(state, upCard, true);
+                if (playerHand.isPair() && table.getRules().getMaxHands() > 1) {
+                    playOn = Math.max(playOn, evaluator.split(playerHand.getFirstCard().getValue(), upCard));
+                }
+                commentary.printEv(String.format("surrender %+.3f  play on %+.3f", evaluator.surrender(),
+                    playOn));
+            }
+            return getValidSurrenderDecision();
+        }
+
+        public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+            if (adviser != null) {
+                boolean split = adviser.splitPair(playerHand, dealerUpCard);
+                commentary.printHint(split ? "split" : "don't split");
+            }
+            if (evaluator != null) {
+                int upCard = dealerUpCard.getValue();
+                commentary.printEv(String.format("split %+.3f  don't split %+.3f",
+                    evaluator.split(playerHand.getFirstCard().getValue(), upCard),
+                    evaluator.best(playerHand.getState(), upCard, true)));
+            }
+            return getValidSplitDecision();
+        }
+
+        public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard,
+            boolean allowDoubleDown) {
+            if (adviser != null) {
+                HandOption hint = adviser.chooseHandOption(playerHand, dealerUpCard, allowDoubleDown);
+                commentary.printHint(describe(hint));
+            }
+            if (evaluator != null) {
+                int upCard = dealerUpCard.getValue();
+                int state = playerHand.getState();
+                String ev = String.format("stay %+.3f  hit %+.3f", evaluator.stand(state, upCard),
+                    evaluator.hit(state, upCard));
+                if (allowDoubleDown) {
+                    ev += String.format("  double %+.3f", evaluator.doubleDown(state, upCard));
+                }
+                commentary.printEv(ev);
+            }
+
+            if (allowDoubleDown) {
+                return getValidStartingHandOption();
+            }
+            else {
+                return getValidHandOption();
+            }
+        }
+    }
+}
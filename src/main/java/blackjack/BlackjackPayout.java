@@ -0,0 +1,35 @@
+package blackjack;
+
+// What a player's blackjack pays. Each payout keeps the Settlement matrix
+// for tables that pay it.
+public enum BlackjackPayout {
+    THREE_TO_TWO("3:2", 3, 2),
+    SIX_TO_FIVE("6:5", 6, 5),
+    EVEN_MONEY("1:1", 1, 1);
+
+    private final String label;
+    // Ledger units paid back per chip bet, the bet itself included.
+    private final int returnUnits;
+    private final int[] settlement;
+
+    BlackjackPayout(String label, int numerator, int denominator) {
+        this.label = label;
+        returnUnits = Bankroll.UNITS_PER_CHIP + Bankroll.UNITS_PER_CHIP * numerator / denominator;
+        assert Bankroll.UNITS_PER_CHIP * numerator % denominator == 0;
+        settlement = Settlement.newMatrix(returnUnits);
+    }
+
+    // The packed Settlement entry for a player hand against the dealer's,
+    // both given as Settlement codes.
+    public int settle(int playerCode, int dealerCode) {
+        return settlement[playerCode * Settlement.CODE_COUNT + dealerCode];
+    }
+
+    public int getReturnUnits() {
+        return returnUnits;
+    }
+
+    public String toString() {
+        return label;
+    }
+}
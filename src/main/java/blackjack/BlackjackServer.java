@@ -0,0 +1,137 @@
+package blackjack;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hosts many games at once over a plain text line protocol: each connection
+// gets its own game, with its own shoe and chips, and sees exactly what the
+// console game prints. Every session runs on its own virtual thread, so a
+// session waiting on a slow player holds no platform thread. Every table
+// records into one set of TableMetrics, shown over JMX.
+public final class BlackjackServer {
+    private static final int DEFAULT_PORT = 2121;
+
+    private ServerSocket serverSocket;
+    private Pacing pacing;
+    private boolean showHints;
+    private boolean showEv;
+    private TableRules rules;
+    private AtomicInteger activeSessions;
+    private TableMetrics metrics;
+
+    public BlackjackServer(int port, Pacing pacing, boolean showHints, TableRules rules)
+        throws IOException {
+        this(port, pacing, showHints, false, rules);
+    }
+
+    public BlackjackServer(int port, Pacing pacing, boolean showHints, boolean showEv, TableRules rules)
+        throws IOException {
+        // A long backlog so bursts of new connections are not refused.
+        this.serverSocket = new ServerSocket(port, 4096);
+        this.pacing = pacing;
+        this.showHints = showHints;
+        this.showEv = showEv;
+        this.rules = rules;
+        activeSessions = new AtomicInteger();
+        metrics = new TableMetrics();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        Pacing pacing = Pacing.NORMAL;
+        boolean showHints = false;
+        boolean showEv = false;
+        TableRules rules = TableRules.fromArgs(args);
+        for (String arg : args) {
+            if (arg.equals("--hints")) {
+                showHints = true;
+            }
+            else if (arg.equals("--ev")) {
+                showEv = true;
+            }
+            else if (arg.equals("--turbo")) {
+                pacing = Pacing.TURBO;
+            }
+            else if (arg.equals("--no-delay")) {
+                pacing = Pacing.NONE;
+            }
+        }
+        // Print the metrics every so many seconds.
+        String metricsPeriod = Options.get(args, "metrics");
+        String[] positional = Options.positional(args);
+        if (positional.length > 0) {
+            port = Integer.parseInt(positional[0]);
+        }
+
+        BlackjackServer server = new BlackjackServer(port, pacing, showHints, showEv, rules);
+        server.metrics.register("server-" + server.serverSocket.getLocalPort());
+        System.out.printf("Dealing blackjack on port %d%n", server.serverSocket.getLocalPort());
+        if (metricsPeriod != null) {
+            new MetricsDumper(server.metrics, System.out, Long.parseLong(metricsPeriod));
+        }
+        server.serve();
+    }
+
+    // Accept connections until the server socket is closed.
+    public void serve() throws IOException {
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (!serverSocket.isClosed()) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                }
+                catch (IOException e) {
+                    if (serverSocket.isClosed()) {
+                        break;
+                    }
+                    throw e;
+                }
+                sessions.submit(() -> playSession(socket));
+            }
+        }
+    }
+
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public TableMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void playSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(
+                 new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            // Prompts are small writes answered by the player; don't hold them back.
+            s.setTcpNoDelay(true);
+            // Every round of a live game is timed; a few clock reads are
+            // nothing next to a network round trip.
+            Blackjack game = new Blackjack(in, out, pacing, showHints, showEv, rules,
+                metrics.newRecorder(1));
+            game.play();
+        }
+        catch (IOException e) {
+            // The player went away; nothing to clean up beyond the socket.
+        }
+        finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package blackjack;
+
+// Thin view over a card index (see Cards). There is exactly one Card object
+// per index, so dealing and comparing cards never allocates.
+public final class Card {
+    private static final Card[] CARDS = new Card[Cards.CARD_COUNT];
+
+    static {
+        for (int i = 0; i < Cards.CARD_COUNT; i++) {
+            CARDS[i] = new Card(i);
+        }
+    }
+
+    private int index;
+
+    private Card(int index) {
+        this.index = index;
+    }
+
+    public static Card of(int index) {
+        return CARDS[index];
+    }
+
+    public static Card of(char rank, char suit) {
+        return CARDS[Cards.indexOf(rank, suit)];
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getValue() {
+        return Cards.value(index);
+    }
+
+    public boolean isAce() {
+        return Cards.isAce(index);
+    }
+
+    public boolean equals(Object other) {
+        if (other instanceof Card) {
+            return index == ((Card)other).index;
+        }
+        else {
+            return false;
+        }
+    }
+
+    public int hashCode() {
+        return index;
+    }
+
+    public String toString() {
+        return Cards.rank(index) + "" + Cards.suit(index);
+    }
+}
@@ -0,0 +1,14 @@
+package blackjack;
+
+// Where a table's cards come from: a shuffled shoe, or the cards of a
+// recorded round when it is replayed.
+public interface CardSource {
+    // Called before the first card of a round is dealt.
+    void startRound();
+
+    // The Cards index of the next card.
+    int dealNextCardIndex();
+
+    // Called once the round is settled.
+    void endRound();
+}
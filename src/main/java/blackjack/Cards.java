@@ -0,0 +1,63 @@
+package blackjack;
+
+// Primitive card encoding used on the hot path. A card is an int index 0..51,
+// ordered by rank then suit: index = 4 * rankIndex + suitIndex. Everything
+// about a card is a table lookup on that index.
+public final class Cards {
+    public static final int CARD_COUNT = 52;
+
+    static final char[] RANKS = {'2','3','4','5','6','7','8','9','T','J','Q','K','A'};
+    static final char[] SUITS = {'c','d','h','s'};
+
+    // Blackjack value of each card, 1 for an ace.
+    private static final int[] VALUES = new int[CARD_COUNT];
+
+    static {
+        for (int i = 0; i < CARD_COUNT; i++) {
+            char rank = rank(i);
+            if (rank == 'A') {
+                VALUES[i] = 1;
+            }
+            else if (rank == 'T' || rank == 'J' || rank == 'Q' || rank == 'K') {
+                VALUES[i] = 10;
+            }
+            else {
+                VALUES[i] = rank - '0';
+            }
+        }
+    }
+
+    private Cards() {}
+
+    public static int indexOf(char rank, char suit) {
+        int index = -1;
+        for (int r = 0; r < RANKS.length; r++) {
+            for (int s = 0; s < SUITS.length; s++) {
+                if (RANKS[r] == rank && SUITS[s] == suit) {
+                    index = 4 * r + s;
+                }
+            }
+        }
+
+        if (index < 0) {
+            throw new IllegalArgumentException("Not a card: " + rank + suit);
+        }
+        return index;
+    }
+
+    public static int value(int card) {
+        return VALUES[card];
+    }
+
+    public static boolean isAce(int card) {
+        return VALUES[card] == 1;
+    }
+
+    public static char rank(int card) {
+        return RANKS[card >> 2];
+    }
+
+    public static char suit(int card) {
+        return SUITS[card & 3];
+    }
+}
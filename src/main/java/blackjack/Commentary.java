@@ -0,0 +1,268 @@
+package blackjack;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Describes the game to one or more sinks. Nothing here blocks: the pauses
+// for effect are handed to the sinks, which apply their own pacing.
+public final class Commentary implements TableListener {
+    private static final int DEALING_PAUSE_TIME = 1500;
+    private static final int RESULT_PAUSE_TIME = 1000;
+
+    private static final String[] HAND_NAMES = { "first", "second", "third", "fourth" };
+
+    private List<CommentarySink> sinks;
+
+    public Commentary(CommentarySink... sinks) {
+        assert sinks.length > 0;
+        this.sinks = Arrays.asList(sinks);
+    }
+
+    public void roundDealt(Hand dealerHand, Hand playerHand) {
+        printDealing();
+        printStartingHands(dealerHand, playerHand);
+    }
+
+    public void insuranceSettled(boolean dealerHasBlackjack) {
+        if (!dealerHasBlackjack) {
+            printLostInsuranceBet();
+        }
+    }
+
+    public void handSplit() {
+        printSplitting();
+    }
+
+    public void splitHandDealt(int handNumber, Hand dealerHand, Hand playerHand) {
+        printDealingSplitHand(handNumber);
+        printStartingHands(dealerHand, playerHand);
+    }
+
+    public void playerActed(HandOption handOption, Hand dealerHand, Hand playerHand) {
+        switch (handOption) {
+            case STAY:
+                printStaying();
+                break;
+            case DOUBLE_DOWN:
+                printDoublingDown();
+                break;
+            case HIT:
+                printHitting();
+                // Show the new hand before the player decides again.
+                if (!playerHand.isBusted()) {
+                    printStartingHands(dealerHand, playerHand);
+                }
+                break;
+        }
+    }
+
+    public void handSettled(Outcome outcome, Hand dealerHand, Hand playerHand) {
+        // The dealer's hole card stays hidden when the player busts or surrenders.
+        if (outcome == Outcome.PLAYER_BUSTED || outcome == Outcome.PLAYER_SURRENDERED) {
+            printDealerStartingHand(dealerHand);
+        }
+        else {
+            printDealerHand(dealerHand);
+        }
+        printPlayerHand(playerHand);
+
+        switch (outcome) {
+            case BLACKJACK_PUSH:
+                printBlackjackPush();
+                break;
+            case PUSH:
+                printPush(dealerHand.getSoftValue());
+                break;
+            case DEALER_BLACKJACK:
+                printDealerBlackjack();
+                break;
+            case DEALER_BUSTED:
+                printDealerBusted();
+                break;
+            case DEALER_WINS:
+                printDealerWins(dealerHand.getSoftValue());
+                break;
+            case PLAYER_BLACKJACK:
+                printPlayerBlackjack();
+                break;
+            case PLAYER_BUSTED:
+                printPlayerBusted();
+                break;
+            case PLAYER_WINS:
+                printPlayerWins(playerHand.getSoftValue());
+                break;
+            case PLAYER_SURRENDERED:
+                printPlayerSurrendered();
+                break;
+        }
+    }
+
+    public void printWelcome() {
+        printLine("Let's play some blackjack...Good luck!");
+        printEmptyLine();
+    }
+
+    public void printGoodbye() {
+        printEmptyLine();
+        printLine("Thank you for playing. Goodbye...");
+    }
+
+    public void printOutOfChips() {
+        printLine("You are out of chips. Goodbye...");
+    }
+
+    public void printDealing() {
+        printLine("Dealing...");
+        pauseForEffect(DEALING_PAUSE_TIME);
+    }
+
+    public void printDealingSplitHand(int handNumber) {
+        printLine("Dealing " + HAND_NAMES[handNumber - 1] + " hand...");
+        pauseForEffect(DEALING_PAUSE_TIME);
+    }
+
+    public void printDoublingDown() {
+        printLine("Doubling down.");
+        pauseForEffect(DEALING_PAUSE_TIME);
+    }
+
+    public void printHitting() {
+        printLine("Taking a card...");
+        pauseForEffect(DEALING_PAUSE_TIME);
+    }
+
+    public void printStaying() {
+        printLine("Staying pat. Dealing dealer's hand...");
+        pauseForEffect(DEALING_PAUSE_TIME);
+    }
+
+    public void printSplitting() {
+        printLine("Splitting...");
+        pauseForEffect(DEALING_PAUSE_TIME);
+    }
+
+    public void printLostInsuranceBet() {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine("Dealer does not have blackjack. You lose the insurance bet.");
+    }
+
+    public void printHint(String hint) {
+        printLine("Hint: " + hint);
+    }
+
+    public void printEv(String ev) {
+        printLine("EV: " + ev);
+    }
+
+    public void printDealerStartingHand(Hand dealerHand) {
+        printLine("Dealer: " + dealerHand.showUpCard());
+    }
+
+    public void printDealerHand(Hand dealerHand) {
+        printLine("Dealer: " + dealerHand.showHand());
+    }
+
+    public void printPlayerHand(Hand playerHand) {
+        printLine("Player: " + playerHand.showHand());
+        // Empty line so it's easier to see the current hands.
+        printEmptyLine();
+    }
+
+    public void printBlackjackPush() {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine("Dealer and player both have blackjack! Push.");
+    }
+
+    public void printPush(int handValue) {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine(String.format("You and dealer both have %d. Push.", handValue));
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    public void printDealerBlackjack() {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine("Dealer has blackjack...Dealer wins.");
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    public void printDealerBusted() {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine("Dealer busts! You win.");
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    public void printDealerWins(int handValue) {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine(String.format("Dealer wins with %d...", handValue));
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    public void printPlayerBlackjack() {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine("You have blackjack!!! You win.");
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    public void printPlayerBusted() {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine("You busted...Dealer wins.");
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    public void printPlayerWins(int handValue) {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine(String.format("You win with %d!", handValue));
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    public void printPlayerSurrendered() {
+        pauseForEffect(RESULT_PAUSE_TIME);
+        printLine("You surrender. Half your bet is returned.");
+        printEmptyLine();
+        printEmptyLine();
+    }
+
+    private void printStartingHands(Hand dealerHand, Hand playerHand) {
+        printDealerStartingHand(dealerHand);
+        printPlayerHand(playerHand);
+    }
+
+    // Pause for effect, e.g. before a prompt. Only the sinks wait, not the caller.
+    public void pauseForEffect(int milliseconds) {
+        for (CommentarySink sink : sinks) {
+            sink.pause(milliseconds);
+        }
+    }
+
+    // Block until every sink has caught up, so the player sees everything
+    // before being asked for input.
+    public void awaitIdle() {
+        for (CommentarySink sink : sinks) {
+            sink.awaitIdle();
+        }
+    }
+
+    // Let the sinks' renderers go once they have caught up.
+    public void close() {
+        for (CommentarySink sink : sinks) {
+            sink.close();
+        }
+    }
+
+    private void printLine(String message) {
+        for (CommentarySink sink : sinks) {
+            sink.print(message + "\n");
+        }
+    }
+
+    private void printEmptyLine() {
+        printLine("");
+    }
+}
@@ -0,0 +1,139 @@
+package blackjack;
+
+import java.io.PrintWriter;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Renders commentary to one output with its own pacing. Paced sinks queue the
+// text and pauses for a consumer thread, so the game thread never sleeps; it
+// only waits (awaitIdle) when it needs everything on screen before reading
+// the player's input. Sinks without pauses write straight away on the caller.
+// Renderers run on virtual threads, which cost next to nothing while they
+// sleep, so a server can pace thousands of sessions at once. A paced sink
+// must be closed to let its renderer go.
+public final class CommentarySink {
+    // Tells the renderer to stop once everything before it is written.
+    private static final Entry CLOSE = new Entry(0, null);
+
+    private PrintWriter out;
+    private Pacing pacing;
+    private BlockingQueue<Entry> queue;
+    private int pending;
+    private boolean closed;
+    // Set when the renderer was interrupted and quit; whatever is printed
+    // after that is dropped.
+    private boolean stopped;
+
+    // A piece of text to write after pausing. Either part can be empty.
+    private static final class Entry {
+        final long pauseMillis;
+        final String text;
+
+        Entry(long pauseMillis, String text) {
+            this.pauseMillis = pauseMillis;
+            this.text = text;
+        }
+    }
+
+    public CommentarySink(PrintWriter out, Pacing pacing) {
+        assert out != null && pacing != null;
+        this.out = out;
+        this.pacing = pacing;
+        pending = 0;
+
+        if (pacing != Pacing.NONE) {
+            queue = new LinkedBlockingQueue<Entry>();
+            Thread.ofVirtual().name("commentary").start(this::render);
+        }
+    }
+
+    public void print(String text) {
+        if (queue == null) {
+            out.print(text);
+            out.flush();
+        }
+        else {
+            enqueue(new Entry(0, text));
+        }
+    }
+
+    public void pause(int milliseconds) {
+        long pauseMillis = pacing.scale(milliseconds);
+        if (pauseMillis > 0) {
+            enqueue(new Entry(pauseMillis, null));
+        }
+    }
+
+    // Block until everything queued so far has been written.
+    public synchronized void awaitIdle() {
+        boolean interrupted = false;
+        while (pending > 0) {
+            try {
+                wait();
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stop the renderer once it has written what is queued. Nothing may be
+    // printed after this.
+    public synchronized void close() {
+        if (queue != null && !closed) {
+            closed = true;
+            queue.add(CLOSE);
+        }
+    }
+
+    private synchronized void enqueue(Entry entry) {
+        assert !closed;
+        if (stopped) {
+            return;
+        }
+        pending++;
+        queue.add(entry);
+    }
+
+    private synchronized void finished() {
+        pending--;
+        if (pending == 0) {
+            notifyAll();
+        }
+    }
+
+    private void render() {
+        try {
+            while (true) {
+                Entry entry = queue.take();
+                if (entry == CLOSE) {
+                    return;
+                }
+                if (entry.pauseMillis > 0) {
+                    Thread.sleep(entry.pauseMillis);
+                }
+                if (entry.text != null) {
+                    out.print(entry.text);
+                    out.flush();
+                }
+                finished();
+            }
+        }
+        catch (InterruptedException e) {
+            stop();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The renderer quit with entries still queued, so drop them and wake any
+    // awaitIdle, which would otherwise wait for them forever.
+    private synchronized void stop() {
+        stopped = true;
+        queue.clear();
+        pending = 0;
+        notifyAll();
+    }
+}
@@ -0,0 +1,82 @@
+package blackjack;
+
+// Plays the solved strategy for what is left in a shoe. The table is solved
+// once and reused until the card shares in the shoe have drifted from the
+// solved composition by more than a tolerance (total absolute difference of
+// the shares). A fresh shoe's table is kept, so reshuffles cost nothing.
+public final class CompositionStrategy implements PlayerStrategy {
+    public static final double DEFAULT_TOLERANCE = 0.1;
+
+    private Shoe shoe;
+    private TableRules rules;
+    private double tolerance;
+
+    private int[] freshComposition;
+    private StrategyTable freshTable;
+    private int[] solvedComposition;
+    private StrategyTable table;
+
+    public CompositionStrategy(Shoe shoe) {
+        this(shoe, TableRules.DEFAULT);
+    }
+
+    public CompositionStrategy(Shoe shoe, TableRules rules) {
+        this(shoe, rules, DEFAULT_TOLERANCE);
+    }
+
+    public CompositionStrategy(Shoe shoe, TableRules rules, double tolerance) {
+        this.shoe = shoe;
+        this.rules = rules;
+        this.tolerance = tolerance;
+
+        freshComposition = shoe.getComposition();
+        freshTable = StrategySolver.solve(freshComposition, rules);
+        solvedComposition = freshComposition;
+        table = freshTable;
+    }
+
+    public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+        return currentTable().takeInsurance(playerHand, dealerUpCard);
+    }
+
+    public boolean surrender(Hand playerHand, Card dealerUpCard) {
+        return currentTable().surrender(playerHand, dealerUpCard);
+    }
+
+    public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+        return currentTable().splitPair(playerHand, dealerUpCard);
+    }
+
+    public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown) {
+        return currentTable().chooseHandOption(playerHand, dealerUpCard, allowDoubleDown);
+    }
+
+    public StrategyTable currentTable() {
+        if (drift(solvedComposition) > tolerance) {
+            if (drift(freshComposition) <= tolerance) {
+                solvedComposition = freshComposition;
+                table = freshTable;
+            }
+            else {
+                solvedComposition = shoe.getComposition();
+                table = StrategySolver.solve(solvedComposition, rules);
+            }
+        }
+        return table;
+    }
+
+    private double drift(int[] composition) {
+        double cardsRemaining = shoe.getCardsRemaining();
+        double cardCount = 0;
+        for (int value = 1; value <= 10; value++) {
+            cardCount += composition[value];
+        }
+
+        double drift = 0.0;
+        for (int value = 1; value <= 10; value++) {
+            drift += Math.abs(shoe.getRemainingCount(value) / cardsRemaining
+                - composition[value] / cardCount);
+        }
+        return drift;
+    }
+}
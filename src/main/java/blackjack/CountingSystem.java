@@ -0,0 +1,65 @@
+package blackjack;
+
+// Card counting systems. A count is read straight off the shoe's undealt
+// counts by card value, which the deck already keeps up to date with one
+// decrement per card, so tracking a count adds nothing to the cost of dealing.
+public enum CountingSystem {
+    // Tags by card value, with index 0 unused so the ace is at 1.
+    //                    -   A   2   3   4   5   6   7   8   9   T
+    HI_LO(new int[]    {  0, -1,  1,  1,  1,  1,  1,  0,  0,  0, -1 }),
+    KO(new int[]       {  0, -1,  1,  1,  1,  1,  1,  1,  0,  0, -1 }),
+    OMEGA_II(new int[] {  0,  0,  1,  1,  2,  2,  2,  1,  0, -1, -2 });
+
+    // Tag of each card value, indexed 1 (ace) to 10.
+    private final int[] tags;
+    // Sum of the tags over one deck, zero for a balanced system.
+    private final int deckSum;
+
+    CountingSystem(int[] tags) {
+        this.tags = tags;
+        int sum = 0;
+        for (int value = 1; value <= 10; value++) {
+            sum += tags[value] * cardsPerDeck(value);
+        }
+        this.deckSum = sum;
+    }
+
+    public boolean isBalanced() {
+        return deckSum == 0;
+    }
+
+    // Running count of the cards dealt since the last shuffle. Unbalanced
+    // systems start from the usual initial count (4 - 4 x decks for KO) so the
+    // pivot lands at +4.
+    public int runningCount(Shoe shoe) {
+        int count = isBalanced() ? 0 : 4 - deckSum * shoe.getDeckCount();
+        for (int value = 1; value <= 10; value++) {
+            int dealt = cardsPerDeck(value) * shoe.getDeckCount() - shoe.getRemainingCount(value);
+            count += tags[value] * dealt;
+        }
+        return count;
+    }
+
+    // Count per deck left in the shoe, measured against what a neutral shoe
+    // would have dealt, so unbalanced systems convert the same way as
+    // balanced ones.
+    public double trueCount(Shoe shoe) {
+        int deckCount = shoe.getDeckCount();
+        int cardsRemaining = shoe.getCardsRemaining();
+        int cardsDealt = deckCount * Cards.CARD_COUNT - cardsRemaining;
+
+        double count = 0.0;
+        for (int value = 1; value <= 10; value++) {
+            int dealt = cardsPerDeck(value) * deckCount - shoe.getRemainingCount(value);
+            count += tags[value] * dealt;
+        }
+        count -= (double)deckSum * cardsDealt / Cards.CARD_COUNT;
+
+        double decksRemaining = Math.max(cardsRemaining, 1) / (double)Cards.CARD_COUNT;
+        return count / decksRemaining;
+    }
+
+    private static int cardsPerDeck(int value) {
+        return value == 10 ? 16 : 4;
+    }
+}
@@ -0,0 +1,205 @@
+package blackjack;
+
+import java.util.random.RandomGenerator;
+
+// Plays the dealer's hand for thousands of independent rounds at once, for
+// studies of the dealer's outcomes alone. Each lane is one dealer hand with
+// an up card; every draw gives all lanes still drawing a card, sampled with
+// replacement from a full shoe, and a DealerKernel plays them in one pass.
+// The kernel uses the Vector API when the JVM has it and plain loops when it
+// does not.
+public final class DealerBatch {
+    public static final int DEFAULT_LANE_COUNT = 4096;
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private DealerKernel kernel;
+    private RandomGenerator randomizer;
+    // Blackjack value of every card in a full shoe.
+    private int[] shoeValues;
+
+    private int laneCount;
+    private int[] upCards;
+    private int[] hardValues;
+    private int[] aces;
+    private int[] done;
+    private int[] cards;
+    private boolean[] blackjacks;
+
+    // Final hands by up card and DealerProbabilities outcome.
+    private long[][] counts;
+
+    public DealerBatch(int deckCount, DealerRule dealerRule, RandomGenerator randomizer,
+        boolean allowVector, int laneCount) {
+        this.kernel = newKernel(dealerRule, allowVector);
+        this.randomizer = randomizer;
+        this.laneCount = laneCount;
+
+        int[] composition = new Shoe(deckCount, Shoe.DEFAULT_PENETRATION, randomizer).getComposition();
+        int cardCount = 0;
+        for (int value = 1; value <= 10; value++) {
+            cardCount += composition[value];
+        }
+        shoeValues = new int[cardCount];
+        for (int value = 1, i = 0; value <= 10; value++) {
+            for (int n = 0; n < composition[value]; n++) {
+                shoeValues[i++] = value;
+            }
+        }
+
+        // Up cards go round the lanes, so every up card gets the same number
+        // of hands.
+        upCards = new int[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            upCards[i] = i % 10 + 1;
+        }
+        hardValues = new int[laneCount];
+        aces = new int[laneCount];
+        done = new int[laneCount];
+        cards = new int[laneCount];
+        blackjacks = new boolean[laneCount];
+        counts = new long[11][DealerProbabilities.OUTCOME_COUNT];
+    }
+
+    public static void main(String[] args) {
+        int deckCount = Shoe.DEFAULT_DECK_COUNT;
+        long hands = 100000000L;
+        DealerRule dealerRule = DealerRule.STANDS_ON_SOFT_17;
+        int position = 0;
+        for (String arg : Options.positional(args)) {
+            if (arg.equals("h17")) {
+                dealerRule = DealerRule.HITS_SOFT_17;
+            }
+            else if (position++ == 0) {
+                deckCount = Integer.parseInt(arg);
+            }
+            else {
+                hands = Long.parseLong(arg);
+            }
+        }
+
+        DealerBatch batch = new DealerBatch(deckCount, dealerRule,
+            RandomAlgorithm.fromArgs(args).create(), !Options.has(args, "scalar"), DEFAULT_LANE_COUNT);
+        long startTime = System.nanoTime();
+        batch.run(hands);
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        double[] drawProbabilities = new double[11];
+        for (int value : batch.shoeValues) {
+            drawProbabilities[value] += 1.0 / batch.shoeValues.length;
+        }
+
+        System.out.printf("Dealer outcomes, %d decks drawn with replacement, %s soft 17, %s kernel%n",
+            deckCount, dealerRule == DealerRule.HITS_SOFT_17 ? "hits" : "stands on", batch.kernel);
+        System.out.printf("%,d hands in %.2f s: %,.0f hands/s%n", batch.getHandCount(),
+            elapsedNanos / 1e9, batch.getHandCount() / (elapsedNanos / 1e9));
+        System.out.println("Up      17      18      19      20      21    Bust      BJ   Max error");
+        for (int upCard = 1; upCard <= 10; upCard++) {
+            double[] exact = DealerProbabilities.outcomesWithReplacement(drawProbabilities, upCard,
+                dealerRule);
+            double[] simulated = batch.outcomes(upCard);
+            double maxError = 0;
+            System.out.printf("%2s", upCard == 1 ? "A" : Integer.toString(upCard));
+            for (int outcome = 0; outcome < simulated.length; outcome++) {
+                System.out.printf("  %.4f", simulated[outcome]);
+                maxError = Math.max(maxError, Math.abs(simulated[outcome] - exact[outcome]));
+            }
+            System.out.printf("  %.6f%n", maxError);
+        }
+    }
+
+    static DealerKernel newKernel(DealerRule dealerRule, boolean allowVector) {
+        if (allowVector && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (DealerKernel)Class.forName("blackjack.VectorDealerKernel")
+                    .getDeclaredConstructor(DealerRule.class).newInstance(dealerRule);
+            }
+            catch (ReflectiveOperationException | LinkageError e) {
+                // Fall back to the scalar kernel below.
+            }
+        }
+        return new ScalarDealerKernel(dealerRule);
+    }
+
+    public String getKernelName() {
+        return kernel.toString();
+    }
+
+    // Play at least the given number of dealer hands, a whole batch of lanes
+    // at a time.
+    public void run(long hands) {
+        for (long played = 0; played < hands; played += laneCount) {
+            playBatch();
+        }
+    }
+
+    private void playBatch() {
+        for (int i = 0; i < laneCount; i++) {
+            hardValues[i] = upCards[i];
+            aces[i] = upCards[i] == 1 ? 1 : 0;
+            done[i] = 0;
+        }
+
+        // The hole card, then draws until every lane stands or busts.
+        dealCards();
+        int drawing = kernel.draw(hardValues, aces, done, cards, laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            blackjacks[i] = aces[i] != 0 && hardValues[i] == 11;
+        }
+        while (drawing > 0) {
+            dealCards();
+            drawing = kernel.draw(hardValues, aces, done, cards, laneCount);
+        }
+
+        for (int i = 0; i < laneCount; i++) {
+            counts[upCards[i]][finalOutcome(i)]++;
+        }
+    }
+
+    // Only lanes still drawing need a card. A random 32 bit fraction scaled
+    // to the shoe picks each card without nextInt's rejection loop; the bias
+    // is below one part in ten million for any shoe.
+    private void dealCards() {
+        long shoeSize = shoeValues.length;
+        for (int i = 0; i < laneCount; i++) {
+            if (done[i] == 0) {
+                cards[i] = shoeValues[(int)(((randomizer.nextInt() & 0xFFFFFFFFL) * shoeSize) >>> 32)];
+            }
+        }
+    }
+
+    private int finalOutcome(int lane) {
+        if (blackjacks[lane]) {
+            return DealerProbabilities.BLACKJACK;
+        }
+        int hardValue = hardValues[lane];
+        if (hardValue > 21) {
+            return DealerProbabilities.BUST;
+        }
+        int value = aces[lane] != 0 && hardValue <= 11 ? hardValue + 10 : hardValue;
+        return DealerProbabilities.FINAL_17 + value - 17;
+    }
+
+    public long getHandCount() {
+        long hands = 0;
+        for (long[] upCardCounts : counts) {
+            for (long count : upCardCounts) {
+                hands += count;
+            }
+        }
+        return hands;
+    }
+
+    // Share of the hands with the given up card that ended each way, indexed
+    // like DealerProbabilities.outcomes.
+    public double[] outcomes(int upCard) {
+        long hands = 0;
+        for (long count : counts[upCard]) {
+            hands += count;
+        }
+        double[] outcomes = new double[DealerProbabilities.OUTCOME_COUNT];
+        for (int outcome = 0; outcome < outcomes.length; outcome++) {
+            outcomes[outcome] = hands > 0 ? (double)counts[upCard][outcome] / hands : 0;
+        }
+        return outcomes;
+    }
+}
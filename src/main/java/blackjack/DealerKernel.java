@@ -0,0 +1,10 @@
+package blackjack;
+
+// One draw of dealer play for a batch of independent dealer hands, held as
+// structure of arrays: per lane the hard value, 1 if the hand holds an ace
+// and 1 once the dealer stops drawing. Lanes that are done keep their state.
+interface DealerKernel {
+    // Give every lane still drawing its card from cards and mark the lanes
+    // that now stand or bust. Returns the number of lanes still drawing.
+    int draw(int[] hardValues, int[] aces, int[] done, int[] cards, int laneCount);
+}
@@ -0,0 +1,225 @@
+package blackjack;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Exact probabilities of the dealer's final hand for a given shoe composition,
+// using the same rules as Table: the dealer draws to 17 and stands on or hits
+// soft 17 by the table's DealerRule.
+//
+// The recursion draws every possible card without replacement. Dealer hands
+// reached by different draw orders hold the same cards, so results are
+// memoized on which cards have been drawn: 4 bits per card value plus the up
+// card, packed into one long. A full table for all ten up cards then takes a
+// few thousand distinct states.
+public final class DealerProbabilities {
+    // Indices into an outcome distribution.
+    public static final int FINAL_17 = 0;
+    public static final int FINAL_18 = 1;
+    public static final int FINAL_19 = 2;
+    public static final int FINAL_20 = 3;
+    public static final int FINAL_21 = 4;
+    public static final int BUST = 5;
+    public static final int BLACKJACK = 6;
+    public static final int OUTCOME_COUNT = 7;
+
+    private static final int BITS_PER_VALUE = 4;
+    private static final int UP_CARD_SHIFT = 10 * BITS_PER_VALUE;
+
+    private int[] composition;
+    private int cardCount;
+    private DealerRule dealerRule;
+    private Map<Long, double[]> memo;
+
+    public DealerProbabilities(int[] composition) {
+        this(composition, DealerRule.STANDS_ON_SOFT_17);
+    }
+
+    // The composition holds the cards the dealer draws from by blackjack value,
+    // indexed 1 (ace) to 10, with the dealer's up card still in it.
+    public DealerProbabilities(int[] composition, DealerRule dealerRule) {
+        if (composition.length != 11) {
+            throw new IllegalArgumentException("Composition must be indexed by card value 1 to 10.");
+        }
+
+        this.composition = composition.clone();
+        this.dealerRule = dealerRule;
+        cardCount = 0;
+        for (int value = 1; value <= 10; value++) {
+            cardCount += composition[value];
+        }
+        memo = new HashMap<Long, double[]>();
+    }
+
+    public static void main(String[] args) {
+        int deckCount = Shoe.DEFAULT_DECK_COUNT;
+        if (args.length > 0) {
+            deckCount = Integer.parseInt(args[0]);
+        }
+        DealerRule dealerRule = args.length > 1 && args[1].equals("h17") ? DealerRule.HITS_SOFT_17
+            : DealerRule.STANDS_ON_SOFT_17;
+
+        int[] composition = new Shoe(deckCount, Shoe.DEFAULT_PENETRATION,
+            RandomAlgorithm.DEFAULT.create()).getComposition();
+
+        long startTime = System.nanoTime();
+        double[][] table = new DealerProbabilities(composition, dealerRule).table();
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        System.out.printf("Dealer outcomes, %d decks, %s soft 17 (%.2f ms)%n", deckCount,
+            dealerRule == DealerRule.HITS_SOFT_17 ? "hits" : "stands on", elapsedNanos / 1e6);
+        System.out.println("Up      17      18      19      20      21    Bust      BJ");
+        for (int upCard = 1; upCard <= 10; upCard++) {
+            System.out.printf("%2s", upCard == 1 ? "A" : Integer.toString(upCard));
+            for (double p : table[upCard]) {
+                System.out.printf("  %.4f", p);
+            }
+            System.out.println();
+        }
+    }
+
+    // Outcome distribution for every up card, indexed 1 (ace) to 10.
+    public double[][] table() {
+        double[][] table = new double[11][];
+        for (int upCard = 1; upCard <= 10; upCard++) {
+            table[upCard] = outcomes(upCard);
+        }
+        return table;
+    }
+
+    // Distribution over FINAL_17..BLACKJACK for the given up card value.
+    public double[] outcomes(int upCard) {
+        if (upCard < 1 || upCard > 10 || composition[upCard] == 0) {
+            throw new IllegalArgumentException("No card of value " + upCard + " left to be the up card.");
+        }
+
+        composition[upCard]--;
+        cardCount--;
+        try {
+            return draw((long)upCard << UP_CARD_SHIFT, upCard, upCard == 1, 1).clone();
+        }
+        finally {
+            composition[upCard]++;
+            cardCount++;
+        }
+    }
+
+    // Same distribution given that the dealer does not have blackjack.
+    public double[] outcomesWithoutBlackjack(int upCard) {
+        return withoutBlackjack(outcomes(upCard));
+    }
+
+    // Distribution for the given up card when every draw has the same fixed
+    // probabilities (indexed by card value 1 to 10), as from an infinite shoe.
+    // With replacement the dealer's state is just hard value, ace and whether
+    // the hole card is still to come, so this takes microseconds.
+    public static double[] outcomesWithReplacement(double[] drawProbabilities, int upCard) {
+        return outcomesWithReplacement(drawProbabilities, upCard, DealerRule.STANDS_ON_SOFT_17);
+    }
+
+    public static double[] outcomesWithReplacement(double[] drawProbabilities, int upCard,
+        DealerRule dealerRule) {
+        double[][] memo = new double[2 * 32][];
+        return drawWithReplacement(drawProbabilities, dealerRule, memo, upCard, upCard == 1, true)
+            .clone();
+    }
+
+    private static double[] drawWithReplacement(double[] drawProbabilities, DealerRule dealerRule,
+        double[][] memo, int hardValue, boolean hasAce, boolean holeCard) {
+        // The hole card state is only ever visited once, so it is not memoized.
+        int key = (hasAce ? 32 : 0) + hardValue;
+        if (!holeCard && memo[key] != null) {
+            return memo[key];
+        }
+
+        double[] result = new double[OUTCOME_COUNT];
+        for (int value = 1; value <= 10; value++) {
+            double p = drawProbabilities[value];
+            if (p == 0.0) {
+                continue;
+            }
+
+            int newHardValue = hardValue + value;
+            boolean newHasAce = hasAce || value == 1;
+            int softValue = newHasAce && newHardValue + 10 <= 21 ? newHardValue + 10 : newHardValue;
+
+            if (newHardValue > 21) {
+                result[BUST] += p;
+            }
+            else if (softValue == 21 && holeCard) {
+                result[BLACKJACK] += p;
+            }
+            else if (dealerRule.stops(newHardValue, newHasAce)) {
+                result[FINAL_17 + softValue - 17] += p;
+            }
+            else {
+                double[] next = drawWithReplacement(drawProbabilities, dealerRule, memo, newHardValue,
+                    newHasAce, false);
+                for (int i = 0; i < OUTCOME_COUNT; i++) {
+                    result[i] += p * next[i];
+                }
+            }
+        }
+
+        if (!holeCard) {
+            memo[key] = result;
+        }
+        return result;
+    }
+
+    // Condition a distribution on the dealer not having blackjack, which is
+    // what the player faces once the dealer has checked for it.
+    public static double[] withoutBlackjack(double[] outcomes) {
+        double noBlackjack = 1.0 - outcomes[BLACKJACK];
+        for (int i = 0; i < BLACKJACK; i++) {
+            outcomes[i] /= noBlackjack;
+        }
+        outcomes[BLACKJACK] = 0.0;
+        return outcomes;
+    }
+
+    private double[] draw(long key, int hardValue, boolean hasAce, int handSize) {
+        double[] result = memo.get(key);
+        if (result != null) {
+            return result;
+        }
+
+        result = new double[OUTCOME_COUNT];
+        for (int value = 1; value <= 10; value++) {
+            int remaining = composition[value];
+            if (remaining == 0) {
+                continue;
+            }
+
+            double p = (double)remaining / cardCount;
+            int newHardValue = hardValue + value;
+            boolean newHasAce = hasAce || value == 1;
+            int softValue = newHasAce && newHardValue + 10 <= 21 ? newHardValue + 10 : newHardValue;
+
+            if (newHardValue > 21) {
+                result[BUST] += p;
+            }
+            else if (softValue == 21 && handSize == 1) {
+                result[BLACKJACK] += p;
+            }
+            else if (dealerRule.stops(newHardValue, newHasAce)) {
+                result[FINAL_17 + softValue - 17] += p;
+            }
+            else {
+                composition[value]--;
+                cardCount--;
+                double[] next = draw(key + (1L << (BITS_PER_VALUE * (value - 1))), newHardValue,
+                    newHasAce, handSize + 1);
+                composition[value]++;
+                cardCount++;
+
+                for (int i = 0; i < OUTCOME_COUNT; i++) {
+                    result[i] += p * next[i];
+                }
+            }
+        }
+
+        memo.put(key, result);
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package blackjack;
+
+// How the dealer plays a soft 17. Each rule keeps a table of the hand values
+// the dealer stops drawing on, indexed by HandState.valueIndex, so playing
+// the dealer's hand costs one lookup per card whichever rule the table uses.
+public enum DealerRule {
+    STANDS_ON_SOFT_17("s17", false),
+    HITS_SOFT_17("h17", true);
+
+    private final String label;
+    private final boolean hitsSoft17;
+    // True for hands the dealer stands on or has busted.
+    private final boolean[] stops;
+
+    DealerRule(String label, boolean hitsSoft17) {
+        this.label = label;
+        this.hitsSoft17 = hitsSoft17;
+        stops = new boolean[HandState.VALUE_INDEX_COUNT];
+        for (int hardValue = 0; hardValue < HandState.VALUE_INDEX_COUNT / 2; hardValue++) {
+            for (int ace = 0; ace <= 1; ace++) {
+                boolean hasAce = ace == 1;
+                boolean soft = hasAce && hardValue + 10 <= 21;
+                int softValue = soft ? hardValue + 10 : hardValue;
+                boolean stands = softValue >= 17 && !(hitsSoft17 && soft && softValue == 17);
+                stops[HandState.valueIndex(hardValue, hasAce)] = stands || hardValue > 21;
+            }
+        }
+    }
+
+    // True once the dealer's hand is finished: standing or busted.
+    public boolean stops(int handState) {
+        return stops[HandState.valueIndex(handState)];
+    }
+
+    public boolean stops(int hardValue, boolean hasAce) {
+        return stops[HandState.valueIndex(hardValue, hasAce)];
+    }
+
+    public boolean hitsSoft17() {
+        return hitsSoft17;
+    }
+
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,106 @@
+package blackjack;
+
+// The decisions many tables are waiting on, handed to a BatchPlayerStrategy
+// in one call. Each decision point is a slot with the table it came from,
+// the kind of decision, the player's hand state, the dealer's up card value
+// and whether doubling down is allowed, kept in parallel arrays so a
+// strategy can evaluate them in bulk. The hands and up cards themselves are
+// there too, for strategies written against Hand and Card; they must not be
+// changed.
+public final class DecisionBatch {
+    public enum Kind { INSURANCE, SURRENDER, SPLIT, HAND_OPTION }
+
+    private int size;
+    private int[] tables;
+    private Kind[] kinds;
+    private int[] handStates;
+    private int[] upCards;
+    private boolean[] doubleDownAllowed;
+    private Hand[] hands;
+    private Card[] dealerUpCards;
+    // 1 or 0 for yes and no, the HandOption ordinal for hand options.
+    private int[] answers;
+
+    DecisionBatch(int capacity) {
+        tables = new int[capacity];
+        kinds = new Kind[capacity];
+        handStates = new int[capacity];
+        upCards = new int[capacity];
+        doubleDownAllowed = new boolean[capacity];
+        hands = new Hand[capacity];
+        dealerUpCards = new Card[capacity];
+        answers = new int[capacity];
+        size = 0;
+    }
+
+    int add(int table, Kind kind, Hand hand, Card dealerUpCard, boolean allowDoubleDown) {
+        int slot = size++;
+        tables[slot] = table;
+        kinds[slot] = kind;
+        handStates[slot] = hand.getState();
+        upCards[slot] = dealerUpCard.getValue();
+        doubleDownAllowed[slot] = allowDoubleDown;
+        hands[slot] = hand;
+        dealerUpCards[slot] = dealerUpCard;
+        answers[slot] = 0;
+        return slot;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            hands[i] = null;
+            dealerUpCards[i] = null;
+        }
+        size = 0;
+    }
+
+    int getAnswer(int slot) {
+        return answers[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getTable(int slot) {
+        return tables[slot];
+    }
+
+    public Kind getKind(int slot) {
+        return kinds[slot];
+    }
+
+    public int getHandState(int slot) {
+        return handStates[slot];
+    }
+
+    // Up card value, 1 for an ace.
+    public int getUpCard(int slot) {
+        return upCards[slot];
+    }
+
+    public boolean isDoubleDownAllowed(int slot) {
+        return doubleDownAllowed[slot];
+    }
+
+    public Hand getHand(int slot) {
+        return hands[slot];
+    }
+
+    public Card getDealerUpCard(int slot) {
+        return dealerUpCards[slot];
+    }
+
+    // The answer to an insurance, surrender or split decision.
+    public void setAnswer(int slot, boolean yes) {
+        assert kinds[slot] != Kind.HAND_OPTION;
+        answers[slot] = yes ? 1 : 0;
+    }
+
+    // Must be STAY or HIT unless doubling down is allowed.
+    public void setHandOption(int slot, HandOption handOption) {
+        assert kinds[slot] == Kind.HAND_OPTION;
+        assert handOption != HandOption.DOUBLE_DOWN || doubleDownAllowed[slot];
+        answers[slot] = handOption.ordinal();
+    }
+}
@@ -0,0 +1,136 @@
+package blackjack;
+
+import java.util.random.RandomGenerator;
+
+// One or more 52 card decks shuffled together.
+public final class Deck {
+    private int[] cards;
+    private RandomGenerator randomizer;
+    private int topIndex;
+    // Undealt cards by blackjack value, indexed 1 (ace) to 10.
+    private int[] remainingByValue;
+    private int[] fullComposition;
+    // Where each shoe's order comes from when the shuffles were made ahead of
+    // time, otherwise null.
+    private ShuffleTape tape;
+    // True while the undealt cards are already in shuffled order.
+    private boolean ordered;
+
+    public Deck() {
+        this(1, RandomAlgorithm.DEFAULT.create());
+    }
+
+    // The same seed always deals the same cards.
+    public Deck(int deckCount, long seed) {
+        this(deckCount, RandomAlgorithm.DEFAULT.create(seed));
+    }
+
+    // Each simulation worker passes in its own generator so decks never share
+    // (or contend on) random state and a seeded run is reproducible.
+    public Deck(int deckCount, RandomGenerator randomizer) {
+        assert deckCount >= 1 && randomizer != null;
+        cards = new int[deckCount * Cards.CARD_COUNT];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = i % Cards.CARD_COUNT;
+        }
+
+        this.randomizer = randomizer;
+        topIndex = 0;
+        remainingByValue = new int[11];
+        countRemainingCards();
+        fullComposition = remainingByValue.clone();
+    }
+
+    // Deals every shoe in the order the tape holds. The generator is only
+    // needed when a round runs out of cards and the discards go back in.
+    public Deck(ShuffleTape tape, RandomGenerator randomizer) {
+        this(tape.getDeckCount(), randomizer);
+        this.tape = tape;
+        shuffle();
+    }
+
+    // The shuffle is done lazily: each deal swaps a random undealt card to the
+    // top (one Fisher-Yates step), so only the cards actually dealt get shuffled.
+    public void shuffle() {
+        topIndex = 0;
+        if (tape != null) {
+            tape.readShoe(cards);
+            ordered = true;
+        }
+        System.arraycopy(fullComposition, 0, remainingByValue, 0, remainingByValue.length);
+    }
+
+    public Card dealNextCard() {
+        return Card.of(dealNextCardIndex());
+    }
+
+    public int dealNextCardIndex() {
+        if (topIndex == cards.length) {
+            throw new IllegalStateException("No cards left in the deck.");
+        }
+
+        int topCard = cards[topIndex];
+        if (!ordered) {
+            // Bounded draws are unbiased, without a modulo.
+            int swapIndex = topIndex + randomizer.nextInt(cards.length - topIndex);
+            topCard = cards[swapIndex];
+            cards[swapIndex] = cards[topIndex];
+            cards[topIndex] = topCard;
+        }
+        topIndex++;
+        remainingByValue[Cards.value(topCard)]--;
+        return topCard;
+    }
+
+    // Put the dealt cards back into the deck, except for the ones dealt from
+    // inPlayIndex on, which are still on the table.
+    public void reshuffleDiscards(int inPlayIndex) {
+        assert inPlayIndex >= 0 && inPlayIndex <= topIndex;
+
+        // Rotate the cards in play to the front; the discards behind them are
+        // undealt again and the lazy shuffle takes care of the rest.
+        int inPlayCount = topIndex - inPlayIndex;
+        reverse(0, topIndex);
+        reverse(0, inPlayCount);
+        reverse(inPlayCount, topIndex);
+        topIndex = inPlayCount;
+        countRemainingCards();
+        // The discards come back in the order they were dealt, so they need
+        // shuffling even when the shoe came from a tape.
+        ordered = false;
+    }
+
+    public int getCardsDealt() {
+        return topIndex;
+    }
+
+    public int getCardsRemaining() {
+        return cards.length - topIndex;
+    }
+
+    public int size() {
+        return cards.length;
+    }
+
+    // Number of undealt cards with the given blackjack value (1 for an ace).
+    public int getRemainingCount(int value) {
+        return remainingByValue[value];
+    }
+
+    private void countRemainingCards() {
+        for (int value = 1; value <= 10; value++) {
+            remainingByValue[value] = 0;
+        }
+        for (int i = topIndex; i < cards.length; i++) {
+            remainingByValue[Cards.value(cards[i])]++;
+        }
+    }
+
+    private void reverse(int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+}
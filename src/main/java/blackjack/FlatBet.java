@@ -0,0 +1,17 @@
+package blackjack;
+
+// Bets the same amount every round.
+public final class FlatBet implements BetPolicy {
+    private int betAmount;
+
+    public FlatBet(int betAmount) {
+        if (betAmount < 1) {
+            throw new IllegalArgumentException("The minimum bet is 1 chip.");
+        }
+        this.betAmount = betAmount;
+    }
+
+    public int betAmount(long availableChips) {
+        return (int)Math.min(betAmount, availableChips);
+    }
+}
@@ -0,0 +1,100 @@
+package blackjack;
+
+// Thin view over a packed HandState plus the card indices, kept for display.
+// Hands can be cleared and reused so simulations don't allocate per round.
+public final class Hand {
+    // Hard value is at most 21 before the last card, so no hand holds more
+    // than 21 aces and one more card.
+    private static final int MAX_CARDS = 22;
+
+    private int[] cards;
+    private int state;
+
+    public Hand() {
+        cards = new int[MAX_CARDS];
+        state = HandState.EMPTY;
+    }
+
+    public void copyFrom(Hand other) {
+        System.arraycopy(other.cards, 0, cards, 0, HandState.cardCount(other.state));
+        state = other.state;
+    }
+
+    public void clear() {
+        state = HandState.EMPTY;
+    }
+
+    public void addCard(Card card) {
+        addCard(card.getIndex());
+    }
+
+    public void addCard(int card) {
+        cards[HandState.cardCount(state)] = card;
+        state = HandState.addCard(state, card);
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public int getHardValue() {
+        return HandState.hardValue(state);
+    }
+
+    public int getSoftValue() {
+        return HandState.softValue(state);
+    }
+
+    public Card getFirstCard() {
+        return Card.of(cards[0]);
+    }
+
+    public Card getSecondCard() {
+        return Card.of(cards[1]);
+    }
+
+    public int getCardCount() {
+        return HandState.cardCount(state);
+    }
+
+    // Index of the i-th card dealt to the hand, as used by Cards.
+    public int getCardIndex(int i) {
+        assert i < HandState.cardCount(state);
+        return cards[i];
+    }
+
+    public boolean isBlackjack() {
+        return HandState.isBlackjack(state);
+    }
+
+    public boolean isBusted() {
+        return HandState.isBusted(state);
+    }
+
+    public boolean isStartingHand() {
+        return HandState.isStartingHand(state);
+    }
+
+    public boolean isPair() {
+        return HandState.isPair(state);
+    }
+
+    public String toString() {
+        return showHand();
+    }
+
+    public String showHand() {
+        StringBuilder str = new StringBuilder("[ ");
+        for (int i = 0; i < HandState.cardCount(state); i++) {
+            str.append(Card.of(cards[i])).append(' ');
+        }
+        str.append(']');
+        return str.toString();
+    }
+
+    public String showUpCard() {
+        // Needed to show dealer's starting hand.
+        Card upCard = getFirstCard();
+        return "[ " + upCard.toString() + " XX" + " ]";
+    }
+}
@@ -0,0 +1,256 @@
+package blackjack;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Streams a log written by HandHistoryWriter back one event at a time. The
+// reader is a cursor: next() moves to the next event and the getters describe
+// it until the following call, so reading a log of any size does not allocate.
+public final class HandHistoryReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final HistoryEvent[] EVENTS = HistoryEvent.values();
+    private static final HandOption[] HAND_OPTIONS = HandOption.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private boolean endOfFile;
+
+    // The current event. Only the fields of its kind are meaningful.
+    private HistoryEvent event;
+    private int[] cards;
+    private int cardCount;
+    private boolean dealerHasBlackjack;
+    private int handNumber;
+    private HandOption handOption;
+    private Outcome outcome;
+    private int betAmount;
+    private long netResult;
+
+    public HandHistoryReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.limit(0);
+        endOfFile = false;
+        cards = new int[HandHistoryWriter.MAX_EVENT_SIZE];
+
+        fill();
+        if (buffer.remaining() < 4 || buffer.getInt() != HandHistoryWriter.MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not a hand history log.");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: HandHistoryReader <log> [--events]");
+            return;
+        }
+        boolean printEvents = args.length > 1 && args[1].equals("--events");
+
+        long rounds = 0;
+        long hands = 0;
+        long totalBet = 0;
+        long netResult = 0;
+        long[] outcomeCounts = new long[OUTCOMES.length];
+
+        try (HandHistoryReader reader = new HandHistoryReader(Paths.get(args[0]))) {
+            HistoryEvent event;
+            while ((event = reader.next()) != null) {
+                if (printEvents) {
+                    System.out.println(reader);
+                }
+                if (event == HistoryEvent.HAND_SETTLED) {
+                    hands++;
+                    outcomeCounts[reader.getOutcome().ordinal()]++;
+                }
+                else if (event == HistoryEvent.ROUND_SETTLED) {
+                    rounds++;
+                    totalBet += reader.getBetAmount();
+                    netResult += reader.getNetResult();
+                }
+            }
+        }
+
+        System.out.printf("%,d rounds (%,d hands), total bet %,d, net result %+,.1f chips%n", rounds,
+            hands, totalBet, Bankroll.toChips(netResult));
+        for (Outcome outcome : OUTCOMES) {
+            System.out.printf("%-18s %,d%n", outcome, outcomeCounts[outcome.ordinal()]);
+        }
+    }
+
+    // Move to the next event. Returns null at the end of the log.
+    public HistoryEvent next() throws IOException {
+        if (buffer.remaining() < HandHistoryWriter.MAX_EVENT_SIZE && !endOfFile) {
+            fill();
+        }
+        if (!buffer.hasRemaining()) {
+            event = null;
+            return null;
+        }
+
+        try {
+            int tag = buffer.get();
+            if (tag < 0 || tag >= EVENTS.length) {
+                throw new IOException("Unknown hand history event " + tag + ".");
+            }
+            event = EVENTS[tag];
+            cardCount = 0;
+            switch (event) {
+                case ROUND_DEALT:
+                    for (int i = 0; i < 4; i++) {
+                        cards[cardCount++] = buffer.get();
+                    }
+                    break;
+                case INSURANCE_SETTLED:
+                    dealerHasBlackjack = buffer.get() != 0;
+                    break;
+                case HAND_SPLIT:
+                case INSURANCE_DECLINED:
+                case SPLIT_DECLINED:
+                    break;
+                case SPLIT_HAND_DEALT:
+                    handNumber = buffer.get();
+                    cards[cardCount++] = buffer.get();
+                    break;
+                case PLAYER_ACTED:
+                    handOption = HAND_OPTIONS[getOrdinal(HAND_OPTIONS.length, "hand option")];
+                    if (handOption != HandOption.STAY) {
+                        cards[cardCount++] = buffer.get();
+                    }
+                    break;
+                case HAND_SETTLED:
+                    outcome = OUTCOMES[getOrdinal(OUTCOMES.length, "outcome")];
+                    int drawn = getOrdinal(cards.length - cardCount + 1, "dealer card count");
+                    for (int i = 0; i < drawn; i++) {
+                        cards[cardCount++] = buffer.get();
+                    }
+                    break;
+                case ROUND_SETTLED:
+                    betAmount = (int)getVarLong();
+                    long zigzag = getVarLong();
+                    netResult = (zigzag >>> 1) ^ -(zigzag & 1);
+                    break;
+            }
+        }
+        catch (BufferUnderflowException e) {
+            // A writer that did not close cleanly can leave half an event.
+            throw new EOFException("Hand history ends in the middle of an event.");
+        }
+        return event;
+    }
+
+    public HistoryEvent getEvent() {
+        return event;
+    }
+
+    // Cards carried by the current event, in the order they were dealt.
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    public int getCardIndex(int i) {
+        assert i < cardCount;
+        return cards[i];
+    }
+
+    public boolean dealerHasBlackjack() {
+        return dealerHasBlackjack;
+    }
+
+    public int getHandNumber() {
+        return handNumber;
+    }
+
+    public HandOption getHandOption() {
+        return handOption;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    // In ledger units.
+    public long getNetResult() {
+        return netResult;
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public String toString() {
+        if (event == null) {
+            return "END";
+        }
+
+        StringBuilder str = new StringBuilder(event.toString());
+        switch (event) {
+            case INSURANCE_SETTLED:
+                str.append(dealerHasBlackjack ? " dealer blackjack" : " no blackjack");
+                break;
+            case SPLIT_HAND_DEALT:
+                str.append(' ').append(handNumber);
+                break;
+            case PLAYER_ACTED:
+                str.append(' ').append(handOption);
+                break;
+            case HAND_SETTLED:
+                str.append(' ').append(outcome);
+                break;
+            case ROUND_SETTLED:
+                str.append(String.format(" bet %d net %+.1f", betAmount, Bankroll.toChips(netResult)));
+                break;
+            default:
+                break;
+        }
+        for (int i = 0; i < cardCount; i++) {
+            str.append(' ').append(Card.of(cards[i]));
+        }
+        return str.toString();
+    }
+
+    // Keep what is left of the buffer and read as much more as fits.
+    private void fill() throws IOException {
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    // A byte that must be below count, such as an ordinal. A damaged log can
+    // hold any byte there.
+    private int getOrdinal(int count, String what) throws IOException {
+        int value = buffer.get();
+        if (value < 0 || value >= count) {
+            throw new IOException("Bad " + what + " " + value + " in the hand history.");
+        }
+        return value;
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long)(b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package blackjack;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Appends every event of every round to a compact binary log. Cards are one
+// byte (their Cards index), options and outcomes one byte (their ordinal) and
+// amounts are varints, so a typical round takes around 15 bytes.
+//
+// Events are encoded into a one megabyte buffer. Full buffers are handed to a
+// writer thread and the table carries on with an empty one, so a simulation
+// only waits on the disk when it falls a few megabytes behind. Call close()
+// to write out the last of it.
+public final class HandHistoryWriter implements TableListener, AutoCloseable {
+    // "BJH2", written once at the start of a new log. Version 1 logs counted
+    // amounts in half chips and are not read any more.
+    static final int MAGIC = 0x424a4832;
+    // No event is longer than this: a tag, an outcome, a count and at most 20
+    // dealer cards, or two varints.
+    static final int MAX_EVENT_SIZE = 32;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int BUFFER_COUNT = 4;
+
+    private FileChannel channel;
+    // Encoding straight into an array is cheaper per byte than a ByteBuffer.
+    private byte[] bytes;
+    private int position;
+    private long roundsWritten;
+    // Dealer cards already in the log this round. Split hands settle against
+    // the same dealer hand, so only the first settlement after the dealer
+    // plays carries the cards the dealer drew.
+    private int dealerCardsWritten;
+
+    // Buffers go round from the table to the writer thread and back. An
+    // empty buffer in the full queue tells the thread to stop.
+    private BlockingQueue<ByteBuffer> fullBuffers;
+    private BlockingQueue<byte[]> emptyBuffers;
+    private Thread writerThread;
+    private volatile IOException writeFailure;
+
+    // Opens the log for appending, creating it if it does not exist yet.
+    public HandHistoryWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        fullBuffers = new ArrayBlockingQueue<ByteBuffer>(BUFFER_COUNT + 1);
+        emptyBuffers = new ArrayBlockingQueue<byte[]>(BUFFER_COUNT);
+        for (int i = 1; i < BUFFER_COUNT; i++) {
+            emptyBuffers.add(new byte[BUFFER_SIZE]);
+        }
+        bytes = new byte[BUFFER_SIZE];
+        position = 0;
+        if (channel.size() == 0) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                put(MAGIC >>> shift);
+            }
+        }
+        roundsWritten = 0;
+
+        writerThread = new Thread(this::writeBuffers, "hand-history");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public long getRoundsWritten() {
+        return roundsWritten;
+    }
+
+    public void roundDealt(Hand dealerHand, Hand playerHand) {
+        begin(HistoryEvent.ROUND_DEALT);
+        put(playerHand.getCardIndex(0));
+        put(dealerHand.getCardIndex(0));
+        put(playerHand.getCardIndex(1));
+        put(dealerHand.getCardIndex(1));
+        dealerCardsWritten = 2;
+    }
+
+    public void insuranceSettled(boolean dealerHasBlackjack) {
+        begin(HistoryEvent.INSURANCE_SETTLED);
+        put(dealerHasBlackjack ? 1 : 0);
+    }
+
+    public void insuranceDeclined() {
+        begin(HistoryEvent.INSURANCE_DECLINED);
+    }
+
+    public void handSplit() {
+        begin(HistoryEvent.HAND_SPLIT);
+    }
+
+    public void splitDeclined() {
+        begin(HistoryEvent.SPLIT_DECLINED);
+    }
+
+    public void splitHandDealt(int handNumber, Hand dealerHand, Hand playerHand) {
+        begin(HistoryEvent.SPLIT_HAND_DEALT);
+        put(handNumber);
+        put(playerHand.getCardIndex(1));
+    }
+
+    public void playerActed(HandOption handOption, Hand dealerHand, Hand playerHand) {
+        begin(HistoryEvent.PLAYER_ACTED);
+        put(handOption.ordinal());
+        if (handOption != HandOption.STAY) {
+            put(playerHand.getCardIndex(playerHand.getCardCount() - 1));
+        }
+    }
+
+    public void handSettled(Outcome outcome, Hand dealerHand, Hand playerHand) {
+        begin(HistoryEvent.HAND_SETTLED);
+        put(outcome.ordinal());
+        put(dealerHand.getCardCount() - dealerCardsWritten);
+        for (int i = dealerCardsWritten; i < dealerHand.getCardCount(); i++) {
+            put(dealerHand.getCardIndex(i));
+        }
+        dealerCardsWritten = dealerHand.getCardCount();
+    }
+
+    public void roundSettled(int betAmount, long netResult) {
+        begin(HistoryEvent.ROUND_SETTLED);
+        putVarLong(betAmount);
+        // Zigzag encoding keeps small losses as short as small wins.
+        putVarLong((netResult << 1) ^ (netResult >> 63));
+        roundsWritten++;
+    }
+
+    // Writes out what is left and stops the writer thread, which is stopped
+    // even when a write failed; the failure is thrown once it has.
+    public void close() throws IOException {
+        try {
+            try {
+                if (writeFailure == null && position > 0) {
+                    fullBuffers.put(ByteBuffer.wrap(bytes, 0, position));
+                }
+            }
+            finally {
+                // Never more than BUFFER_COUNT buffers are queued, so there
+                // is always room for the empty one.
+                fullBuffers.put(ByteBuffer.allocate(0));
+                writerThread.join();
+            }
+        }
+        catch (InterruptedException e) {
+            writerThread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the hand history.");
+        }
+        finally {
+            channel.close();
+        }
+        if (writeFailure != null) {
+            throw writeFailure;
+        }
+    }
+
+    private void begin(HistoryEvent event) {
+        if (bytes.length - position < MAX_EVENT_SIZE) {
+            try {
+                handOff();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException(
+                    "Interrupted while writing the hand history."));
+            }
+        }
+        put(event.ordinal());
+    }
+
+    private void put(int b) {
+        bytes[position++] = (byte)b;
+    }
+
+    // Queue the current buffer for writing and carry on with an empty one.
+    private void handOff() throws InterruptedException {
+        if (writeFailure != null) {
+            throw new UncheckedIOException(writeFailure);
+        }
+        fullBuffers.put(ByteBuffer.wrap(bytes, 0, position));
+        bytes = emptyBuffers.take();
+        position = 0;
+    }
+
+    // Runs on the writer thread until it is handed an empty buffer. After a
+    // failed write it keeps recycling buffers so the table never blocks, and
+    // the failure is reported on the next hand off or on close.
+    private void writeBuffers() {
+        try {
+            while (true) {
+                ByteBuffer full = fullBuffers.take();
+                if (!full.hasRemaining()) {
+                    return;
+                }
+                try {
+                    while (writeFailure == null && full.hasRemaining()) {
+                        channel.write(full);
+                    }
+                }
+                catch (IOException e) {
+                    writeFailure = e;
+                }
+                emptyBuffers.put(full.array());
+            }
+        }
+        catch (InterruptedException e) {
+            // Only the daemon thread's own shutdown interrupts it.
+        }
+    }
+
+    // Seven bits at a time, low bits first, with the high bit set on every
+    // byte but the last.
+    private void putVarLong(long value) {
+        while ((value & ~0x7fL) != 0) {
+            put((int)(value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        put((int)value);
+    }
+}
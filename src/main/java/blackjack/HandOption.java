@@ -0,0 +1,3 @@
+package blackjack;
+
+public enum HandOption { STAY, HIT, DOUBLE_DOWN }
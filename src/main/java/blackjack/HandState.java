@@ -0,0 +1,103 @@
+package blackjack;
+
+// Primitive hand encoding used on the hot path. The whole blackjack state of a
+// hand is packed into one int, so adding a card and every query is a few bit
+// operations or a table lookup, with no allocation:
+//
+//   bits 0-5    hard value (an ace counts 1)
+//   bit  6      holds an ace
+//   bits 7-11   number of cards
+//   bits 12-15  value of the first card
+//   bit  16     the first two cards have the same value
+public final class HandState {
+    public static final int EMPTY = 0;
+    public static final int VALUE_INDEX_COUNT = 1 << 7;
+
+    private static final int HARD_MASK = 0x3F;
+    private static final int ACE_BIT = 1 << 6;
+    private static final int VALUE_MASK = HARD_MASK | ACE_BIT;
+    private static final int COUNT_SHIFT = 7;
+    private static final int COUNT_ONE = 1 << COUNT_SHIFT;
+    private static final int COUNT_MASK = 0x1F << COUNT_SHIFT;
+    private static final int FIRST_SHIFT = 12;
+    private static final int FIRST_MASK = 0xF << FIRST_SHIFT;
+    private static final int PAIR_BIT = 1 << 16;
+
+    // Two cards, hard 11 and an ace is the only way to make a blackjack.
+    private static final int BLACKJACK = (2 << COUNT_SHIFT) | ACE_BIT | 11;
+
+    // Soft value indexed by the hard value and ace bit.
+    private static final int[] SOFT_VALUES = new int[VALUE_MASK + 1];
+
+    static {
+        for (int hard = 0; hard <= HARD_MASK; hard++) {
+            SOFT_VALUES[hard] = hard;
+            SOFT_VALUES[hard | ACE_BIT] = hard + 10 <= 21 ? hard + 10 : hard;
+        }
+    }
+
+    private HandState() {}
+
+    public static int addCard(int state, int card) {
+        int value = Cards.value(card);
+        int count = cardCount(state);
+
+        state += value + COUNT_ONE;
+        if (value == 1) {
+            state |= ACE_BIT;
+        }
+        if (count == 0) {
+            state |= value << FIRST_SHIFT;
+        }
+        else if (count == 1 && value == firstValue(state)) {
+            state |= PAIR_BIT;
+        }
+        return state;
+    }
+
+    // Hard value and ace bit together, for tables indexed by what a hand is
+    // worth. Always less than VALUE_INDEX_COUNT.
+    public static int valueIndex(int state) {
+        return state & VALUE_MASK;
+    }
+
+    public static int valueIndex(int hardValue, boolean hasAce) {
+        return hardValue | (hasAce ? ACE_BIT : 0);
+    }
+
+    public static int hardValue(int state) {
+        return state & HARD_MASK;
+    }
+
+    public static int softValue(int state) {
+        return SOFT_VALUES[state & VALUE_MASK];
+    }
+
+    public static boolean hasAce(int state) {
+        return (state & ACE_BIT) != 0;
+    }
+
+    public static int cardCount(int state) {
+        return (state & COUNT_MASK) >>> COUNT_SHIFT;
+    }
+
+    public static int firstValue(int state) {
+        return (state & FIRST_MASK) >>> FIRST_SHIFT;
+    }
+
+    public static boolean isBlackjack(int state) {
+        return (state & (COUNT_MASK | VALUE_MASK)) == BLACKJACK;
+    }
+
+    public static boolean isBusted(int state) {
+        return hardValue(state) > 21;
+    }
+
+    public static boolean isStartingHand(int state) {
+        return cardCount(state) == 2;
+    }
+
+    public static boolean isPair(int state) {
+        return (state & PAIR_BIT) != 0 && cardCount(state) == 2;
+    }
+}
@@ -0,0 +1,182 @@
+package blackjack;
+
+import java.util.Arrays;
+
+// Streaming statistics of the rounds a table plays: the return of every round
+// per chip of opening bet with its variance and confidence interval, how the
+// hands came out, a histogram of round results and the return by starting
+// hand and dealer up card. Everything lives in fixed-size arrays, so the
+// memory used is the same after a thousand rounds or a hundred billion.
+public final class HandStatistics implements TableListener {
+    // Starting hands: hard 5 to 19, soft 13 to 21 (21 is blackjack) and the
+    // ten pairs, ace first.
+    private static final int HARD_ROW = 0;
+    private static final int SOFT_ROW = HARD_ROW + 15;
+    private static final int PAIR_ROW = SOFT_ROW + 9;
+    public static final int STARTING_HAND_COUNT = PAIR_ROW + 10;
+    // Dealer up cards, ace first.
+    public static final int UP_CARD_COUNT = 10;
+
+    // The histogram of round results per chip of opening bet runs from -10 to
+    // +10 chips in ledger units, more than four doubled split hands and the
+    // insurance can lose or win.
+    public static final int MAX_RESULT_UNITS = 10 * Bankroll.UNITS_PER_CHIP;
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private RunningStatistics rounds;
+    private RunningStatistics[] byStartingHand;
+    private long[] outcomeCounts;
+    private long[] resultCounts;
+    private long handCount;
+
+    // Where the round in play goes in byStartingHand.
+    private int startingCell;
+
+    public HandStatistics() {
+        rounds = new RunningStatistics();
+        byStartingHand = new RunningStatistics[STARTING_HAND_COUNT * UP_CARD_COUNT];
+        for (int i = 0; i < byStartingHand.length; i++) {
+            byStartingHand[i] = new RunningStatistics();
+        }
+        outcomeCounts = new long[OUTCOMES.length];
+        resultCounts = new long[2 * MAX_RESULT_UNITS + 1];
+    }
+
+    public void roundDealt(Hand dealerHand, Hand playerHand) {
+        startingCell = startingHandRow(playerHand.getState()) * UP_CARD_COUNT
+            + dealerHand.getFirstCard().getValue() - 1;
+    }
+
+    public void handSettled(Outcome outcome, Hand dealerHand, Hand playerHand) {
+        outcomeCounts[outcome.ordinal()]++;
+        handCount++;
+    }
+
+    public void roundSettled(int betAmount, long netResult) {
+        double result = (double)netResult / betAmount;
+        rounds.add(result / Bankroll.UNITS_PER_CHIP);
+        byStartingHand[startingCell].add(result / Bankroll.UNITS_PER_CHIP);
+
+        int bin = (int)Math.max(-MAX_RESULT_UNITS, Math.min(MAX_RESULT_UNITS, Math.round(result)));
+        resultCounts[bin + MAX_RESULT_UNITS]++;
+    }
+
+    // Add everything another set of statistics has seen.
+    public void addAll(HandStatistics other) {
+        rounds.addAll(other.rounds);
+        for (int i = 0; i < byStartingHand.length; i++) {
+            byStartingHand[i].addAll(other.byStartingHand[i]);
+        }
+        for (int i = 0; i < outcomeCounts.length; i++) {
+            outcomeCounts[i] += other.outcomeCounts[i];
+        }
+        for (int i = 0; i < resultCounts.length; i++) {
+            resultCounts[i] += other.resultCounts[i];
+        }
+        handCount += other.handCount;
+    }
+
+    public void clear() {
+        rounds.clear();
+        for (RunningStatistics cell : byStartingHand) {
+            cell.clear();
+        }
+        Arrays.fill(outcomeCounts, 0);
+        Arrays.fill(resultCounts, 0);
+        handCount = 0;
+    }
+
+    public HandStatistics copy() {
+        HandStatistics copy = new HandStatistics();
+        copy.addAll(this);
+        return copy;
+    }
+
+    // Return of a round per chip of opening bet, every round counted once
+    // whatever its bet.
+    public RunningStatistics getRounds() {
+        return rounds;
+    }
+
+    public RunningStatistics getStartingHand(int row, int upCardValue) {
+        return byStartingHand[row * UP_CARD_COUNT + upCardValue - 1];
+    }
+
+    public long getHandCount() {
+        return handCount;
+    }
+
+    public long getOutcomeCount(Outcome outcome) {
+        return outcomeCounts[outcome.ordinal()];
+    }
+
+    // Share of settled hands that came out one of the given ways.
+    public double getRate(Outcome... outcomes) {
+        long count = 0;
+        for (Outcome outcome : outcomes) {
+            count += outcomeCounts[outcome.ordinal()];
+        }
+        return handCount > 0 ? (double)count / handCount : 0;
+    }
+
+    // Rounds whose result per chip of opening bet, rounded to a ledger unit,
+    // was the given number of units. Results beyond MAX_RESULT_UNITS count
+    // in the last bin.
+    public long getResultCount(int units) {
+        return resultCounts[units + MAX_RESULT_UNITS];
+    }
+
+    static int startingHandRow(int state) {
+        if (HandState.isPair(state)) {
+            return PAIR_ROW + HandState.firstValue(state) - 1;
+        }
+        else if (HandState.hasAce(state)) {
+            return SOFT_ROW + HandState.softValue(state) - 13;
+        }
+        else {
+            return HARD_ROW + HandState.hardValue(state) - 5;
+        }
+    }
+
+    static String startingHandName(int row) {
+        if (row >= PAIR_ROW) {
+            String rank = row == PAIR_ROW ? "A" : row == PAIR_ROW + 9 ? "T" : Integer.toString(row - PAIR_ROW + 1);
+            return rank + "," + rank;
+        }
+        else if (row >= SOFT_ROW) {
+            return "soft " + (row - SOFT_ROW + 13);
+        }
+        else {
+            return "hard " + (row - HARD_ROW + 5);
+        }
+    }
+
+    // The return by starting hand (rows) and dealer up card (columns) as a
+    // table, in percent of the opening bet.
+    public String formatStartingHands() {
+        StringBuilder str = new StringBuilder("Start       ");
+        for (int upCard = 1; upCard <= UP_CARD_COUNT; upCard++) {
+            str.append(String.format("%8s", upCard == 1 ? "A" : upCard == 10 ? "T" : upCard));
+        }
+        for (int row = 0; row < STARTING_HAND_COUNT; row++) {
+            str.append(System.lineSeparator()).append(String.format("%-12s", startingHandName(row)));
+            for (int upCard = 1; upCard <= UP_CARD_COUNT; upCard++) {
+                RunningStatistics cell = getStartingHand(row, upCard);
+                str.append(cell.getCount() > 0 ? String.format("%+8.1f", 100.0 * cell.getMean())
+                    : String.format("%8s", "-"));
+            }
+        }
+        return str.toString();
+    }
+
+    public String toString() {
+        return String.format(
+            "EV %+.3f%% per round +/- %.3f%% (95%%), sd %.3f; hands: win %.2f%%, blackjack %.2f%%, push %.2f%%, lose %.2f%% (bust %.2f%%), surrender %.2f%%",
+            100.0 * rounds.getMean(), 100.0 * rounds.getConfidenceHalfWidth(RunningStatistics.Z_95),
+            rounds.getStandardDeviation(), 100.0 * getRate(Outcome.PLAYER_WINS, Outcome.DEALER_BUSTED),
+            100.0 * getRate(Outcome.PLAYER_BLACKJACK), 100.0 * getRate(Outcome.PUSH, Outcome.BLACKJACK_PUSH),
+            100.0 * getRate(Outcome.DEALER_WINS, Outcome.DEALER_BLACKJACK, Outcome.PLAYER_BUSTED),
+            100.0 * getRate(Outcome.PLAYER_BUSTED), 100.0 * getRate(Outcome.PLAYER_SURRENDERED));
+    }
+}
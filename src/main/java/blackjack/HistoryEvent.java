@@ -0,0 +1,22 @@
+package blackjack;
+
+// The kinds of event in a hand history log. Each is written as its ordinal in
+// one byte followed by its fields, so new kinds only go at the end.
+public enum HistoryEvent {
+    // The four starting cards in the order they were dealt.
+    ROUND_DEALT,
+    // Only written when the player took insurance.
+    INSURANCE_SETTLED,
+    HAND_SPLIT,
+    // The second card of a split hand.
+    SPLIT_HAND_DEALT,
+    // The option and, unless the player stayed, the card it drew.
+    PLAYER_ACTED,
+    // The outcome and any cards the dealer drew that are not in the log yet.
+    HAND_SETTLED,
+    // The bet and the round's net result in ledger units of a tenth of a chip.
+    ROUND_SETTLED,
+    // Insurance or a split offered and turned down, where it was offered.
+    INSURANCE_DECLINED,
+    SPLIT_DECLINED
+}
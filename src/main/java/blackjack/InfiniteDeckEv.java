@@ -0,0 +1,332 @@
+package blackjack;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Exact expected values of every decision against an infinite deck, where
+// each draw is an ace to nine with probability 1/13 and a ten with 4/13
+// whatever came before. Under that assumption a hand's worth depends only
+// on its value and the dealer's up card, so a short memoized recursion
+// values every hand, double, split (resplits included, up to the table's
+// limit of hands), surrender and insurance under a table's rules.
+//
+// Values are in opening bets. Decisions are valued as the player makes
+// them, after the dealer has checked for blackjack; roundValue() values a
+// starting hand from the deal, the dealer's blackjacks included. The
+// values for a set of rules are worked out once, in microseconds once the
+// JVM is warm, and kept in a small global cache, so every later answer is
+// an array read.
+public final class InfiniteDeckEv {
+    private static final double[] DRAW_PROBABILITIES = new double[11];
+
+    static {
+        for (int value = 1; value <= 9; value++) {
+            DRAW_PROBABILITIES[value] = 1.0 / 13;
+        }
+        DRAW_PROBABILITIES[10] = 4.0 / 13;
+    }
+
+    // Keyed by the rules packed into an int, leaving out the deck count,
+    // which an infinite deck does not have.
+    private static final ConcurrentHashMap<Integer, InfiniteDeckEv> CACHE =
+        new ConcurrentHashMap<Integer, InfiniteDeckEv>();
+
+    private static final double SURRENDER_VALUE = -0.5;
+
+    private TableRules rules;
+    // Indexed by up card value 1 (ace) to 10.
+    private UpCardValues[] upCards;
+
+    private InfiniteDeckEv(TableRules rules) {
+        this.rules = rules;
+        upCards = new UpCardValues[11];
+        for (int upCard = 1; upCard <= 10; upCard++) {
+            upCards[upCard] = new UpCardValues(upCard, rules);
+        }
+    }
+
+    public static InfiniteDeckEv forRules(TableRules rules) {
+        int key = rules.getDealerRule().ordinal()
+            | rules.getBlackjackPayout().ordinal() << 2
+            | rules.getMaxHands() << 4
+            | (rules.isDoubleAfterSplit() ? 1 << 8 : 0)
+            | (rules.isLateSurrender() ? 1 << 9 : 0);
+        return CACHE.computeIfAbsent(key, k -> new InfiniteDeckEv(rules.withDeckCount(1)));
+    }
+
+    public static void main(String[] args) {
+        TableRules rules = TableRules.fromArgs(args);
+        String[] positional = Options.positional(args);
+        if (positional.length < 2) {
+            System.out.println("Usage: InfiniteDeckEv <cards, e.g. T6 or A7 or 88> <dealer up card> [--rules=...]");
+            return;
+        }
+
+        int handState = parseHand(positional[0]);
+        int upCard = Cards.value(parseCard(positional[1]));
+
+        long startTime = System.nanoTime();
+        InfiniteDeckEv ev = forRules(rules);
+        long solveNanos = System.nanoTime() - startTime;
+
+        System.out.printf("%s against %s, infinite deck, %s%n", positional[0].toUpperCase(),
+            positional[1].toUpperCase(), rules);
+        System.out.printf("  stand      %+.4f%n", ev.stand(handState, upCard));
+        System.out.printf("  hit        %+.4f%n", ev.hit(handState, upCard));
+        if (HandState.isStartingHand(handState)) {
+            System.out.printf("  double     %+.4f%n", ev.doubleDown(handState, upCard));
+            if (HandState.isPair(handState) && rules.getMaxHands() > 1) {
+                System.out.printf("  split      %+.4f%n", ev.split(HandState.firstValue(handState), upCard));
+            }
+            if (rules.isLateSurrender()) {
+                System.out.printf("  surrender  %+.4f%n", ev.surrender());
+            }
+            if (upCard == 1) {
+                System.out.printf("  insurance  %+.4f%n", ev.insurance());
+            }
+            System.out.printf("  from the deal, played best: %+.4f%n", ev.roundValue(handState, upCard));
+        }
+        System.out.printf("A whole round from the deal, played best: %+.4f%n", ev.roundValue());
+        System.out.printf("Solved in %.1f us%n", solveNanos / 1e3);
+    }
+
+    // Ranks A, 2-9, T, J, Q, K or 10.
+    private static int parseCard(String rank) {
+        char c = rank.equals("10") ? 'T' : Character.toUpperCase(rank.charAt(0));
+        if (rank.length() != 1 && !rank.equals("10")) {
+            throw new IllegalArgumentException("Bad card: " + rank);
+        }
+        return Cards.indexOf(c, Cards.SUITS[0]);
+    }
+
+    private static int parseHand(String ranks) {
+        int state = HandState.EMPTY;
+        for (String rank : ranks.replace("10", "T").split("")) {
+            state = HandState.addCard(state, parseCard(rank));
+        }
+        if (HandState.cardCount(state) < 2) {
+            throw new IllegalArgumentException("A hand has at least two cards.");
+        }
+        return state;
+    }
+
+    public TableRules getRules() {
+        return rules;
+    }
+
+    public double stand(int handState, int upCard) {
+        return upCards[upCard].stand(HandState.hardValue(handState), HandState.hasAce(handState));
+    }
+
+    // Take a card and play on as well as possible, without doubling.
+    public double hit(int handState, int upCard) {
+        return upCards[upCard].hitValues[HandState.valueIndex(handState)];
+    }
+
+    // Double the bet for exactly one more card.
+    public double doubleDown(int handState, int upCard) {
+        return upCards[upCard].doubleValues[HandState.valueIndex(handState)];
+    }
+
+    // Both hands of a split pair together, resplitting whenever that is
+    // worth more, so the value is in opening bets like every other.
+    public double split(int pairValue, int upCard) {
+        return upCards[upCard].splitValues[pairValue];
+    }
+
+    public double surrender() {
+        return SURRENDER_VALUE;
+    }
+
+    // The insurance bet, half the opening bet, pays 2:1 if the dealer's hole
+    // card is a ten.
+    public double insurance() {
+        double tenShare = DRAW_PROBABILITIES[10];
+        return 0.5 * (2.0 * tenShare - (1.0 - tenShare));
+    }
+
+    // The best of standing, hitting and, if allowed, doubling down.
+    public double best(int handState, int upCard, boolean allowDoubleDown) {
+        double best = Math.max(stand(handState, upCard), hit(handState, upCard));
+        return allowDoubleDown ? Math.max(best, doubleDown(handState, upCard)) : best;
+    }
+
+    // A two card starting hand played as well as the rules allow, from the
+    // deal: the dealer's blackjack takes the bet (or pushes a blackjack)
+    // before the player gets to decide anything. Insurance is left out.
+    public double roundValue(int handState, int upCard) {
+        UpCardValues values = upCards[upCard];
+        double noBlackjack = 1.0 - values.dealerBlackjack;
+        if (HandState.isBlackjack(handState)) {
+            double win = (double)(rules.getBlackjackPayout().getReturnUnits() - Bankroll.UNITS_PER_CHIP)
+                / Bankroll.UNITS_PER_CHIP;
+            return noBlackjack * win;
+        }
+
+        double best = best(handState, upCard, true);
+        if (HandState.isPair(handState) && rules.getMaxHands() > 1) {
+            best = Math.max(best, split(HandState.firstValue(handState), upCard));
+        }
+        if (rules.isLateSurrender()) {
+            best = Math.max(best, SURRENDER_VALUE);
+        }
+        return noBlackjack * best - values.dealerBlackjack;
+    }
+
+    // A round from the deal, every starting hand and up card played as well
+    // as the rules allow, without insurance: minus the house edge.
+    public double roundValue() {
+        double value = 0.0;
+        for (int first = 1; first <= 10; first++) {
+            for (int second = 1; second <= 10; second++) {
+                int handState = HandState.addCard(HandState.addCard(HandState.EMPTY, cardOfValue(first)),
+                    cardOfValue(second));
+                for (int upCard = 1; upCard <= 10; upCard++) {
+                    value += DRAW_PROBABILITIES[first] * DRAW_PROBABILITIES[second]
+                        * DRAW_PROBABILITIES[upCard] * roundValue(handState, upCard);
+                }
+            }
+        }
+        return value;
+    }
+
+    private static int cardOfValue(int value) {
+        return Cards.indexOf(value == 1 ? 'A' : value == 10 ? 'T' : (char)('0' + value), Cards.SUITS[0]);
+    }
+
+    // Every value against one up card, all worked out up front so the
+    // finished tables can be read from any thread.
+    private static final class UpCardValues {
+        private TableRules rules;
+        private double dealerBlackjack;
+        // Indexed by the player's total 4 to 21; anything lower stands like 4.
+        private double[] standValues;
+        // Indexed by HandState.valueIndex. NaN until worked out.
+        private double[] hitValues;
+        private double[] bestValues;
+        private double[] doubleValues;
+        // Indexed by pair value.
+        private double[] splitValues;
+
+        UpCardValues(int upCard, TableRules rules) {
+            this.rules = rules;
+            double[] outcomes = DealerProbabilities.outcomesWithReplacement(DRAW_PROBABILITIES, upCard,
+                rules.getDealerRule());
+            dealerBlackjack = outcomes[DealerProbabilities.BLACKJACK];
+            outcomes = DealerProbabilities.withoutBlackjack(outcomes);
+
+            standValues = new double[22];
+            for (int total = 4; total <= 21; total++) {
+                double value = outcomes[DealerProbabilities.BUST];
+                for (int dealerTotal = 17; dealerTotal <= 21; dealerTotal++) {
+                    double p = outcomes[DealerProbabilities.FINAL_17 + dealerTotal - 17];
+                    value += total > dealerTotal ? p : total < dealerTotal ? -p : 0.0;
+                }
+                standValues[total] = value;
+            }
+
+            hitValues = new double[HandState.VALUE_INDEX_COUNT];
+            bestValues = new double[HandState.VALUE_INDEX_COUNT];
+            doubleValues = new double[HandState.VALUE_INDEX_COUNT];
+            Arrays.fill(hitValues, Double.NaN);
+            Arrays.fill(bestValues, Double.NaN);
+            for (int hardValue = 2; hardValue <= 21; hardValue++) {
+                for (int ace = 0; ace <= 1; ace++) {
+                    boolean hasAce = ace == 1;
+                    int index = HandState.valueIndex(hardValue, hasAce);
+                    hitValues[index] = hit(hardValue, hasAce);
+                    double doubleDown = 0.0;
+                    for (int card = 1; card <= 10; card++) {
+                        doubleDown += DRAW_PROBABILITIES[card]
+                            * stand(hardValue + card, hasAce || card == 1);
+                    }
+                    doubleValues[index] = 2.0 * doubleDown;
+                }
+            }
+
+            splitValues = new double[11];
+            for (int pairValue = 1; pairValue <= 10; pairValue++) {
+                int maxHands = rules.getMaxHands();
+                double[][] memo = new double[maxHands + 1][maxHands + 1];
+                for (double[] row : memo) {
+                    Arrays.fill(row, Double.NaN);
+                }
+                splitValues[pairValue] = maxHands > 1 ? splitHands(pairValue, 2, 2, memo) : Double.NaN;
+            }
+        }
+
+        // Busted hands lose the bet.
+        double stand(int hardValue, boolean hasAce) {
+            if (hardValue > 21) {
+                return -1.0;
+            }
+            int softValue = hasAce && hardValue + 10 <= 21 ? hardValue + 10 : hardValue;
+            return standValues[Math.max(softValue, 4)];
+        }
+
+        private double hit(int hardValue, boolean hasAce) {
+            int index = HandState.valueIndex(hardValue, hasAce);
+            if (Double.isNaN(hitValues[index])) {
+                double value = 0.0;
+                for (int card = 1; card <= 10; card++) {
+                    value += DRAW_PROBABILITIES[card] * best(hardValue + card, hasAce || card == 1);
+                }
+                hitValues[index] = value;
+            }
+            return hitValues[index];
+        }
+
+        // The better of standing and hitting on a hand past its first two
+        // cards.
+        private double best(int hardValue, boolean hasAce) {
+            if (hardValue > 21) {
+                return -1.0;
+            }
+            int index = HandState.valueIndex(hardValue, hasAce);
+            if (Double.isNaN(bestValues[index])) {
+                bestValues[index] = Math.max(stand(hardValue, hasAce), hit(hardValue, hasAce));
+            }
+            return bestValues[index];
+        }
+
+        // Total value of the split hands still to be dealt their second card,
+        // pending of them, with handCount hands on the table. Each draw that
+        // pairs again may be split once more while the table allows more
+        // hands, except aces, which get one card each and are never resplit.
+        private double splitHands(int pairValue, int handCount, int pending, double[][] memo) {
+            if (pending == 0) {
+                return 0.0;
+            }
+            if (!Double.isNaN(memo[handCount][pending])) {
+                return memo[handCount][pending];
+            }
+
+            double value = 0.0;
+            for (int card = 1; card <= 10; card++) {
+                double played = splitHandValue(pairValue, card)
+                    + splitHands(pairValue, handCount, pending - 1, memo);
+                if (card == pairValue && pairValue != 1 && handCount < rules.getMaxHands()) {
+                    played = Math.max(played, splitHands(pairValue, handCount + 1, pending + 1, memo));
+                }
+                value += DRAW_PROBABILITIES[card] * played;
+            }
+            memo[handCount][pending] = value;
+            return value;
+        }
+
+        // A split hand with its second card, played on. It is never a
+        // blackjack; doubling depends on the table.
+        private double splitHandValue(int pairValue, int card) {
+            int hardValue = pairValue + card;
+            boolean hasAce = pairValue == 1 || card == 1;
+            if (pairValue == 1) {
+                return stand(hardValue, hasAce);
+            }
+            double value = best(hardValue, hasAce);
+            if (rules.isDoubleAfterSplit()) {
+                value = Math.max(value, doubleValues[HandState.valueIndex(hardValue, hasAce)]);
+            }
+            return value;
+        }
+    }
+}
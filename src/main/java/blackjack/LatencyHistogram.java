@@ -0,0 +1,111 @@
+package blackjack;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts durations in nanoseconds into log-linear buckets, the way
+// HdrHistogram does: every power of two is cut into SUB_BUCKET_COUNT equal
+// buckets, so any value is recorded to within 1/16 of itself in a fixed
+// 960 buckets from 1 ns to centuries. Recording is one bucket lookup and
+// a LongAdder increment, and any number of threads can record at once.
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private LongAdder[] buckets;
+    private LongAdder sum;
+    private LongAccumulator max;
+
+    public LatencyHistogram() {
+        buckets = new LongAdder[BUCKET_COUNT];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        sum = new LongAdder();
+        max = new LongAccumulator(Math::max, 0);
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets[bucketIndex(nanos)].increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    // Values below SUB_BUCKET_COUNT get a bucket each; above that the top
+    // SUB_BUCKET_BITS bits after the leading one pick the bucket within the
+    // value's power of two.
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int)value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    // Smallest value that goes in the given bucket.
+    static long bucketStart(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count > 0 ? (double)sum.sum() / count : 0;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    // The value below which the given share (0 to 1) of the recorded values
+    // fall, as the start of its bucket. 0 when nothing was recorded.
+    public long getPercentile(double share) {
+        long[] counts = new long[buckets.length];
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long rank = Math.max(1, (long)Math.ceil(share * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketStart(i);
+            }
+        }
+        return 0;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    // Percentiles in microseconds.
+    public String toString() {
+        return String.format("n=%d mean=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f us",
+            getCount(), getMean() / 1e3, getPercentile(0.5) / 1e3, getPercentile(0.9) / 1e3,
+            getPercentile(0.99) / 1e3, getPercentile(0.999) / 1e3, getMax() / 1e3);
+    }
+}
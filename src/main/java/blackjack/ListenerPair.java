@@ -0,0 +1,58 @@
+package blackjack;
+
+// Hands every event to two listeners in turn, e.g. statistics and a hand
+// history for the same table.
+final class ListenerPair implements TableListener {
+    private TableListener first;
+    private TableListener second;
+
+    ListenerPair(TableListener first, TableListener second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public void roundDealt(Hand dealerHand, Hand playerHand) {
+        first.roundDealt(dealerHand, playerHand);
+        second.roundDealt(dealerHand, playerHand);
+    }
+
+    public void insuranceSettled(boolean dealerHasBlackjack) {
+        first.insuranceSettled(dealerHasBlackjack);
+        second.insuranceSettled(dealerHasBlackjack);
+    }
+
+    public void insuranceDeclined() {
+        first.insuranceDeclined();
+        second.insuranceDeclined();
+    }
+
+    public void handSplit() {
+        first.handSplit();
+        second.handSplit();
+    }
+
+    public void splitDeclined() {
+        first.splitDeclined();
+        second.splitDeclined();
+    }
+
+    public void splitHandDealt(int handNumber, Hand dealerHand, Hand playerHand) {
+        first.splitHandDealt(handNumber, dealerHand, playerHand);
+        second.splitHandDealt(handNumber, dealerHand, playerHand);
+    }
+
+    public void playerActed(HandOption handOption, Hand dealerHand, Hand playerHand) {
+        first.playerActed(handOption, dealerHand, playerHand);
+        second.playerActed(handOption, dealerHand, playerHand);
+    }
+
+    public void handSettled(Outcome outcome, Hand dealerHand, Hand playerHand) {
+        first.handSettled(outcome, dealerHand, playerHand);
+        second.handSettled(outcome, dealerHand, playerHand);
+    }
+
+    public void roundSettled(int betAmount, long netResult) {
+        first.roundSettled(betAmount, netResult);
+        second.roundSettled(betAmount, netResult);
+    }
+}
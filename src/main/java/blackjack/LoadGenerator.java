@@ -0,0 +1,119 @@
+package blackjack;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives a BlackjackServer with many scripted players at once, each on its own
+// virtual thread. A player bets 1, stays on every hand, declines insurance and
+// splits, and quits after a number of rounds, waiting a think time before
+// every answer.
+public final class LoadGenerator {
+    private static final String PROMPT_END = "]: ";
+
+    private String host;
+    private int port;
+    private int roundsPerSession;
+    private long thinkMillis;
+
+    private AtomicLong roundsPlayed;
+    private AtomicLong sessionsFailed;
+
+    public LoadGenerator(String host, int port, int roundsPerSession, long thinkMillis) {
+        this.host = host;
+        this.port = port;
+        this.roundsPerSession = roundsPerSession;
+        this.thinkMillis = thinkMillis;
+        roundsPlayed = new AtomicLong();
+        sessionsFailed = new AtomicLong();
+    }
+
+    public static void main(String[] args) {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 2121;
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        long thinkMillis = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+        LoadGenerator generator = new LoadGenerator(host, port, rounds, thinkMillis);
+        long startTime = System.nanoTime();
+        generator.run(sessions);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf("%d sessions, %d rounds, %d failed in %.2f s (%,.0f rounds/s)%n", sessions,
+            generator.roundsPlayed.get(), generator.sessionsFailed.get(), seconds,
+            generator.roundsPlayed.get() / seconds);
+    }
+
+    // Play the given number of sessions concurrently and wait for them all.
+    public void run(int sessions) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                executor.submit(this::playSession);
+            }
+        }
+    }
+
+    private void playSession() {
+        try (Socket socket = new Socket(host, port);
+             Reader in = new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8);
+             PrintWriter out = new PrintWriter(
+                 new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            int rounds = 0;
+            String prompt;
+            while ((prompt = readPrompt(in)) != null) {
+                String answer;
+                if (prompt.contains("d-deal")) {
+                    answer = rounds < roundsPerSession ? "d" : "q";
+                }
+                else if (prompt.contains("bet amount")) {
+                    answer = "1";
+                    rounds++;
+                }
+                else if (prompt.contains("s-stay")) {
+                    answer = "s";
+                }
+                else {
+                    answer = "n";
+                }
+
+                if (thinkMillis > 0) {
+                    Thread.sleep(thinkMillis);
+                }
+                out.print(answer + "\n");
+                out.flush();
+            }
+            roundsPlayed.addAndGet(rounds);
+        }
+        catch (IOException e) {
+            sessionsFailed.incrementAndGet();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Read up to and including the next prompt. Returns the text read, or null
+    // once the server has closed the connection.
+    private static String readPrompt(Reader in) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            text.append((char)c);
+            if (c == ' ' && text.length() >= PROMPT_END.length()
+                && text.lastIndexOf(PROMPT_END) == text.length() - PROMPT_END.length()) {
+                // Keep only the last line, which holds the prompt.
+                return text.substring(text.lastIndexOf("\n") + 1);
+            }
+        }
+        return null;
+    }
+}
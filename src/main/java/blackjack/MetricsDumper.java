@@ -0,0 +1,50 @@
+package blackjack;
+
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Prints a snapshot of table metrics every so often from a daemon thread,
+// with the rounds per second since the last one, until closed.
+public final class MetricsDumper implements AutoCloseable {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private TableMetrics metrics;
+    private PrintStream out;
+    private ScheduledExecutorService timer;
+    private long lastRounds;
+    private long lastNanos;
+
+    public MetricsDumper(TableMetrics metrics, PrintStream out, long periodSeconds) {
+        assert periodSeconds >= 1;
+        this.metrics = metrics;
+        this.out = out;
+        lastRounds = metrics.getRoundsPlayed();
+        lastNanos = System.nanoTime();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dumper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::dump, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    // The metrics are read while the tables keep playing, so the counts in a
+    // snapshot may be a few events apart from each other.
+    void dump() {
+        long rounds = metrics.getRoundsPlayed();
+        long now = System.nanoTime();
+        double roundsPerSecond = (rounds - lastRounds) / ((now - lastNanos) / 1e9);
+        lastRounds = rounds;
+        lastNanos = now;
+        out.printf("%s %,.0f rounds/s; %s%n", LocalTime.now().format(TIME_FORMAT), roundsPerSecond,
+            metrics);
+    }
+
+    public void close() {
+        timer.shutdownNow();
+    }
+}
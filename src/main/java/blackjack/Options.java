@@ -0,0 +1,45 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Command line helpers for the mains. Options start with "--", either flags
+// like "--by-hand" or values like "--rules=h17", and may appear anywhere
+// among the positional arguments.
+final class Options {
+    private Options() {}
+
+    // The value of "--<name>=<value>", the last one if given more than once,
+    // or null.
+    static String get(String[] args, String name) {
+        String prefix = "--" + name + "=";
+        String value = null;
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                value = arg.substring(prefix.length());
+            }
+        }
+        return value;
+    }
+
+    static boolean has(String[] args, String flag) {
+        for (String arg : args) {
+            if (arg.equals("--" + flag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The arguments with every option taken out, so the rest can be read by
+    // position.
+    static String[] positional(String[] args) {
+        List<String> rest = new ArrayList<String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                rest.add(arg);
+            }
+        }
+        return rest.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,14 @@
+package blackjack;
+
+// How a single player hand was settled against the dealer.
+public enum Outcome {
+    BLACKJACK_PUSH,
+    PUSH,
+    DEALER_BLACKJACK,
+    DEALER_BUSTED,
+    DEALER_WINS,
+    PLAYER_BLACKJACK,
+    PLAYER_BUSTED,
+    PLAYER_WINS,
+    PLAYER_SURRENDERED
+}
@@ -0,0 +1,21 @@
+package blackjack;
+
+// How long a commentary sink holds each pause for dramatic effect.
+public enum Pacing {
+    // The full pauses, for a human at the console.
+    NORMAL(1.0),
+    // Short pauses for players who know the game.
+    TURBO(0.2),
+    // No pauses at all, for bots and replays.
+    NONE(0.0);
+
+    private final double scale;
+
+    Pacing(double scale) {
+        this.scale = scale;
+    }
+
+    public long scale(int milliseconds) {
+        return (long)(milliseconds * scale);
+    }
+}
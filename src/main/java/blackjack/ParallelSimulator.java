@@ -0,0 +1,142 @@
+package blackjack;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+// Runs the headless simulator on every core. The rounds are cut into a fixed
+// number of shards, each with its own Shoe and random stream from
+// RandomStreams. Shards are merged in order, so a given seed gives the same result no
+// matter how many threads run it or how they get scheduled. With a shuffle
+// tape, each shard deals from its own stretch of the tape instead, and a run
+// that needs more shoes than the stretches hold is refused.
+public final class ParallelSimulator {
+    static final int SHARD_COUNT = 256;
+    private static final long DEFAULT_ROUNDS = 100000000L;
+
+    private ForkJoinPool pool;
+    private TableRules rules;
+    private RandomAlgorithm algorithm;
+    // Null when the shards shuffle their own shoes.
+    private ShuffleTape tape;
+    private Function<Shoe, PlayerStrategy> strategyFactory;
+    private Function<Shoe, BetPolicy> betPolicyFactory;
+
+    // Every shard gets its own strategy and bet policy for its shoe from the
+    // factories.
+    public ParallelSimulator(int threadCount, TableRules rules, RandomAlgorithm algorithm,
+        Function<Shoe, PlayerStrategy> strategyFactory, Function<Shoe, BetPolicy> betPolicyFactory) {
+        this(threadCount, rules, algorithm, null, strategyFactory, betPolicyFactory);
+    }
+
+    public ParallelSimulator(int threadCount, TableRules rules, RandomAlgorithm algorithm, ShuffleTape tape,
+        Function<Shoe, PlayerStrategy> strategyFactory, Function<Shoe, BetPolicy> betPolicyFactory) {
+        assert threadCount >= 1;
+        this.pool = new ForkJoinPool(threadCount);
+        this.rules = rules;
+        this.algorithm = algorithm;
+        this.tape = tape;
+        this.strategyFactory = strategyFactory;
+        this.betPolicyFactory = betPolicyFactory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String tapeFile = Options.get(args, "tape");
+        ShuffleTape tape = tapeFile == null ? null : new ShuffleTape(Paths.get(tapeFile));
+        final TableRules rules = tape == null ? TableRules.fromArgs(args)
+            : TableRules.fromArgs(args).withDeckCount(tape.getDeckCount());
+        RandomAlgorithm algorithm = RandomAlgorithm.fromArgs(args);
+        args = Options.positional(args);
+
+        long rounds = DEFAULT_ROUNDS;
+        long seed = System.nanoTime();
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        if (args.length > 0) {
+            rounds = Long.parseLong(args[0]);
+        }
+        if (args.length > 1) {
+            seed = Long.parseLong(args[1]);
+        }
+        if (args.length > 2) {
+            threadCount = Integer.parseInt(args[2]);
+        }
+        final String strategyName = args.length > 3 ? args[3] : "basic";
+        final String betting = args.length > 4 ? args[4] : "flat";
+
+        ParallelSimulator simulator = new ParallelSimulator(threadCount, rules, algorithm, tape,
+            shoe -> Simulator.newStrategy(strategyName, shoe, rules),
+            shoe -> Simulator.newBetPolicy(betting, shoe));
+        try {
+            System.out.printf("Seed %d (%s), %d threads%n", seed, algorithm, threadCount);
+            System.out.println(simulator.run(rounds, seed));
+        }
+        finally {
+            simulator.shutdown();
+        }
+    }
+
+    public SimulationResult run(long rounds, long seed) {
+        RandomStreams streams = new RandomStreams(algorithm, seed);
+        List<Callable<SimulationResult>> shards = new ArrayList<Callable<SimulationResult>>(SHARD_COUNT);
+        final ShuffleTape[] shardTapes = new ShuffleTape[SHARD_COUNT];
+        if (tape != null) {
+            // The first shards play the most rounds.
+            long maxShardRounds = rounds / SHARD_COUNT + (rounds % SHARD_COUNT > 0 ? 1 : 0);
+            ShuffleTape.requireShoes(tape.getShoeCount() / SHARD_COUNT,
+                tape.shoesNeeded(maxShardRounds, Shoe.DEFAULT_PENETRATION),
+                String.format("Each of %d shards of %,d rounds", SHARD_COUNT, maxShardRounds));
+        }
+
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            // Spread the remainder over the first shards.
+            final long shardRounds = rounds / SHARD_COUNT + (i < rounds % SHARD_COUNT ? 1 : 0);
+            final RandomGenerator randomizer = streams.next();
+            long stretch = tape == null ? 0 : tape.getShoeCount() / SHARD_COUNT;
+            final ShuffleTape shardTape = tape == null ? null : tape.at(i * stretch, stretch);
+            shardTapes[i] = shardTape;
+            shards.add(new Callable<SimulationResult>() {
+                public SimulationResult call() {
+                    Shoe shoe = shardTape == null ? rules.newShoe(randomizer)
+                        : rules.newShoe(shardTape, randomizer);
+                    Simulator simulator = new Simulator(shoe, strategyFactory.apply(shoe),
+                        betPolicyFactory.apply(shoe), rules);
+                    return simulator.run(shardRounds);
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        SimulationResult result = new SimulationResult(0, 0, 0, 0, 0, new HandStatistics());
+        try {
+            for (Future<SimulationResult> shard : pool.invokeAll(shards)) {
+                result = result.merge(shard.get());
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted.", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed.", e.getCause());
+        }
+
+        for (ShuffleTape shardTape : shardTapes) {
+            if (shardTape != null && shardTape.isReused()) {
+                System.err.println("Warning: some shards dealt past their stretch of the tape, so some shoes were dealt twice.");
+                break;
+            }
+        }
+        return result.withElapsedNanos(System.nanoTime() - startTime);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,21 @@
+package blackjack;
+
+// Makes the player's decisions for a table. The interactive game prompts the
+// user, simulations plug in a fixed strategy.
+public interface PlayerStrategy {
+    // Only asked when the dealer shows an ace and the player can cover the bet.
+    boolean takeInsurance(Hand playerHand, Card dealerUpCard);
+
+    // Only asked on the starting hand when the table offers late surrender and
+    // the dealer does not have blackjack. Surrendering gets half the bet back.
+    default boolean surrender(Hand playerHand, Card dealerUpCard) {
+        return false;
+    }
+
+    // Only asked when the player holds a pair, can cover another bet and the
+    // table allows another hand.
+    boolean splitPair(Hand playerHand, Card dealerUpCard);
+
+    // Must return STAY or HIT unless allowDoubleDown is set.
+    HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown);
+}
@@ -0,0 +1,54 @@
+package blackjack;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// The random number generators a shoe can shuffle with, by the name used on
+// the command line ("--rng=xoshiro256pp"). Every one of them is either
+// splittable or jumpable, so RandomStreams can hand each simulation worker
+// its own stream, and none of them locks: a generator belongs to one shoe.
+public enum RandomAlgorithm {
+    SPLITTABLE("splittable", "SplittableRandom"),
+    L64X128("l64x128", "L64X128MixRandom"),
+    XOSHIRO256PP("xoshiro256pp", "Xoshiro256PlusPlus");
+
+    public static final RandomAlgorithm DEFAULT = L64X128;
+
+    private final String label;
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+
+    RandomAlgorithm(String label, String algorithm) {
+        this.label = label;
+        factory = RandomGeneratorFactory.of(algorithm);
+        assert factory.isSplittable() || factory.isJumpable();
+    }
+
+    public static RandomAlgorithm parse(String label) {
+        for (RandomAlgorithm algorithm : values()) {
+            if (algorithm.label.equals(label)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown random generator: " + label);
+    }
+
+    // The generator given by a --rng= option among a main's arguments.
+    static RandomAlgorithm fromArgs(String[] args) {
+        String label = Options.get(args, "rng");
+        return label == null ? DEFAULT : parse(label);
+    }
+
+    // A generator seeded from entropy, different every run.
+    public RandomGenerator create() {
+        return factory.create();
+    }
+
+    // The same seed always gives the same sequence.
+    public RandomGenerator create(long seed) {
+        return factory.create(seed);
+    }
+
+    public String toString() {
+        return label;
+    }
+}
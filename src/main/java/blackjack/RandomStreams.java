@@ -0,0 +1,27 @@
+package blackjack;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+// Independent random streams from one seed. Splittable generators split a new
+// stream off the root; jumpable ones copy the root and jump it ahead far
+// enough (2^128 draws for xoshiro256++) that the streams never overlap.
+// Streams come out in the same order for the same seed, so a run that hands
+// them out in a fixed order is reproducible.
+public final class RandomStreams {
+    private RandomGenerator root;
+
+    public RandomStreams(RandomAlgorithm algorithm, long seed) {
+        root = algorithm.create(seed);
+    }
+
+    public RandomGenerator next() {
+        if (root instanceof SplittableGenerator) {
+            return ((SplittableGenerator)root).split();
+        }
+        else {
+            return ((JumpableGenerator)root).copyAndJump();
+        }
+    }
+}
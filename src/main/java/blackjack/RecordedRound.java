@@ -0,0 +1,167 @@
+package blackjack;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+// One round read back from a hand history, put in the order the table played
+// it. As a CardSource it deals the round's cards in their original order and
+// as a PlayerStrategy it makes the recorded decisions, so a Table replays the
+// round exactly. The same object is refilled for every round.
+public final class RecordedRound implements CardSource, PlayerStrategy {
+    // More than any round can deal: every split hand and the dealer's hand,
+    // each of at most 21 cards.
+    private static final int MAX_CARDS = (TableRules.MAX_HANDS + 1) * 21;
+    private static final int MAX_OPTIONS = 64;
+
+    private int[] cards;
+    private int cardCount;
+    private boolean tookInsurance;
+    private boolean surrendered;
+    // Whether the pair in front of the player was split when the given
+    // number of cards had been dealt.
+    private boolean[] splitAt;
+    private HandOption[] options;
+    private int optionCount;
+    private int betAmount;
+    private long netResult;
+    // Rounds read so far, counting this one, to name a bad round.
+    private long roundNumber;
+
+    private int nextCard;
+    private int nextOption;
+
+    public RecordedRound() {
+        cards = new int[MAX_CARDS];
+        splitAt = new boolean[MAX_CARDS + 1];
+        options = new HandOption[MAX_OPTIONS];
+    }
+
+    // Read the next round from the log. Returns false at the end of the log.
+    public boolean read(HandHistoryReader reader) throws IOException {
+        Arrays.fill(splitAt, 0, cardCount + 1, false);
+        cardCount = 0;
+        optionCount = 0;
+        tookInsurance = false;
+        surrendered = false;
+
+        HistoryEvent event = reader.next();
+        if (event == null) {
+            return false;
+        }
+        if (event != HistoryEvent.ROUND_DEALT) {
+            throw new IOException("Hand history round starts with " + event + ".");
+        }
+        roundNumber++;
+
+        while (true) {
+            switch (event) {
+                case ROUND_DEALT:
+                    addCards(reader);
+                    break;
+                case HAND_SETTLED:
+                    surrendered = reader.getOutcome() == Outcome.PLAYER_SURRENDERED;
+                    addCards(reader);
+                    break;
+                case PLAYER_ACTED:
+                    if (optionCount == options.length) {
+                        throw new IOException("Round " + roundNumber + " of the hand history makes more than "
+                            + options.length + " decisions.");
+                    }
+                    options[optionCount++] = reader.getHandOption();
+                    addCards(reader);
+                    break;
+                case INSURANCE_SETTLED:
+                    tookInsurance = true;
+                    break;
+                case HAND_SPLIT:
+                    splitAt[cardCount] = true;
+                    break;
+                case INSURANCE_DECLINED:
+                case SPLIT_DECLINED:
+                    // Declining is the replay's answer wherever nothing was
+                    // taken or split.
+                    break;
+                case SPLIT_HAND_DEALT:
+                    // Each split hand gets its second card when its turn comes.
+                    addCard(reader.getCardIndex(0));
+                    break;
+                case ROUND_SETTLED:
+                    betAmount = reader.getBetAmount();
+                    netResult = reader.getNetResult();
+                    startRound();
+                    return true;
+            }
+
+            event = reader.next();
+            if (event == null) {
+                throw new EOFException("Hand history ends in the middle of a round.");
+            }
+        }
+    }
+
+    private void addCards(HandHistoryReader reader) throws IOException {
+        for (int i = 0; i < reader.getCardCount(); i++) {
+            addCard(reader.getCardIndex(i));
+        }
+    }
+
+    // A damaged log can hold anything, so a round is checked to fit before
+    // it is stored and to deal only real cards.
+    private void addCard(int card) throws IOException {
+        if (cardCount == cards.length) {
+            throw new IOException("Round " + roundNumber + " of the hand history deals more than "
+                + cards.length + " cards.");
+        }
+        if (card < 0 || card >= Cards.CARD_COUNT) {
+            throw new IOException("Round " + roundNumber + " of the hand history deals card " + card + ".");
+        }
+        cards[cardCount++] = card;
+    }
+
+    public int getBetAmount() {
+        return betAmount;
+    }
+
+    // The recorded net result in ledger units.
+    public long getNetResult() {
+        return netResult;
+    }
+
+    public void startRound() {
+        nextCard = 0;
+        nextOption = 0;
+    }
+
+    public int dealNextCardIndex() {
+        if (nextCard == cardCount) {
+            throw new IllegalStateException("The replay needs more cards than the round dealt.");
+        }
+        return cards[nextCard++];
+    }
+
+    public void endRound() {}
+
+    public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+        return tookInsurance;
+    }
+
+    public boolean surrender(Hand playerHand, Card dealerUpCard) {
+        return surrendered;
+    }
+
+    public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+        return splitAt[nextCard];
+    }
+
+    public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown) {
+        if (nextOption == optionCount) {
+            throw new IllegalStateException("The replay needs more decisions than the round made.");
+        }
+        HandOption option = options[nextOption++];
+        if (option == HandOption.DOUBLE_DOWN && !allowDoubleDown) {
+            throw new IllegalStateException("The recorded double down is not allowed in the replay.");
+        }
+        return option;
+    }
+}
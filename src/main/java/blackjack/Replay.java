@@ -0,0 +1,87 @@
+package blackjack;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Re-plays a hand history through Table and checks every round's bet and net
+// result against the recorded ledger. There is no console and no pausing, so
+// a replay runs as fast as a simulation.
+//
+// By default each round is dealt its recorded cards and makes its recorded
+// decisions, which checks the payouts of a log, or of changed rules, hand by
+// hand. Given the seed, decks, strategy and betting of a simulation instead,
+// the replay shuffles and decides everything afresh and checks that the run
+// reproduces the log.
+public final class Replay {
+    private static final int MAX_REPORTED_MISMATCHES = 10;
+
+    private RecordedRound round;
+    private Table table;
+    // Null when the recorded bets are replayed.
+    private BetPolicy betPolicy;
+
+    // Replays the recorded cards and decisions under the given rules.
+    public Replay(TableRules rules) {
+        round = new RecordedRound();
+        table = new Table(round, round, new TableListener() {}, rules);
+        betPolicy = null;
+    }
+
+    // Replays a simulation from its shoe, strategy and bets.
+    public Replay(Shoe shoe, PlayerStrategy strategy, BetPolicy betPolicy, TableRules rules) {
+        round = new RecordedRound();
+        table = new Table(shoe, strategy, new TableListener() {}, rules);
+        this.betPolicy = betPolicy;
+    }
+
+    public static void main(String[] args) throws IOException {
+        TableRules rules = TableRules.fromArgs(args);
+        RandomAlgorithm algorithm = RandomAlgorithm.fromArgs(args);
+        args = Options.positional(args);
+        if (args.length != 1 && args.length != 5) {
+            System.out.println("Usage: Replay <log> [<seed> <decks> <strategy> <betting>] [--rules=<rules>] [--rng=<generator>]");
+            return;
+        }
+
+        Replay replay;
+        if (args.length == 1) {
+            replay = new Replay(rules);
+        }
+        else {
+            long seed = Long.parseLong(args[1]);
+            rules = rules.withDeckCount(Integer.parseInt(args[2]));
+            Shoe shoe = rules.newShoe(algorithm.create(seed));
+            replay = new Replay(shoe, Simulator.newStrategy(args[3], shoe, rules),
+                Simulator.newBetPolicy(args[4], shoe), rules);
+        }
+
+        try (HandHistoryReader reader = new HandHistoryReader(Paths.get(args[0]))) {
+            System.out.println(replay.run(reader));
+        }
+    }
+
+    // Replay every round left in the log.
+    public ReplayResult run(HandHistoryReader reader) throws IOException {
+        Bankroll bankroll = Bankroll.unlimited();
+        ReplayResult result = new ReplayResult(MAX_REPORTED_MISMATCHES);
+
+        long startTime = System.nanoTime();
+        while (round.read(reader)) {
+            int betAmount = round.getBetAmount();
+            if (betPolicy != null) {
+                betAmount = betPolicy.betAmount(bankroll.getAvailableChips());
+            }
+
+            try {
+                long netResult = table.playRound(betAmount, bankroll);
+                result.addRound(round.getBetAmount(), round.getNetResult(), betAmount, netResult);
+            }
+            catch (IllegalStateException e) {
+                // The replayed rules wanted a card or decision the log does not have.
+                result.addFailedRound(round.getBetAmount(), round.getNetResult(), e.getMessage());
+            }
+        }
+        result.setElapsedNanos(System.nanoTime() - startTime);
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The recorded and replayed chip ledgers of a replay and where they differ.
+// Amounts are in ledger units.
+public final class ReplayResult {
+    private int maxReportedMismatches;
+    private long rounds;
+    private long mismatchedRounds;
+    private long recordedNetResult;
+    private long replayedNetResult;
+    private long elapsedNanos;
+    // Descriptions of the first mismatched rounds.
+    private List<String> mismatches;
+
+    ReplayResult(int maxReportedMismatches) {
+        this.maxReportedMismatches = maxReportedMismatches;
+        mismatches = new ArrayList<String>();
+    }
+
+    void addRound(int recordedBet, long recordedNet, int replayedBet, long replayedNet) {
+        rounds++;
+        recordedNetResult += recordedNet;
+        replayedNetResult += replayedNet;
+        if (recordedBet != replayedBet || recordedNet != replayedNet) {
+            mismatchedRounds++;
+            reportMismatch("round %,d: recorded bet %d net %+.1f, replayed bet %d net %+.1f", rounds,
+                recordedBet, Bankroll.toChips(recordedNet), replayedBet, Bankroll.toChips(replayedNet));
+        }
+    }
+
+    void addFailedRound(int recordedBet, long recordedNet, String reason) {
+        rounds++;
+        recordedNetResult += recordedNet;
+        mismatchedRounds++;
+        reportMismatch("round %,d: recorded bet %d net %+.1f, replay failed: %s", rounds, recordedBet,
+            Bankroll.toChips(recordedNet), reason);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Formatting is skipped once enough mismatches are reported, so a replay
+    // that goes wrong early does not slow to a crawl.
+    private void reportMismatch(String format, Object... args) {
+        if (mismatches.size() < maxReportedMismatches) {
+            mismatches.add(String.format(format, args));
+        }
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getMismatchedRounds() {
+        return mismatchedRounds;
+    }
+
+    public boolean matches() {
+        return mismatchedRounds == 0;
+    }
+
+    public long getRecordedNetResult() {
+        return recordedNetResult;
+    }
+
+    public long getReplayedNetResult() {
+        return replayedNetResult;
+    }
+
+    public List<String> getMismatches() {
+        return mismatches;
+    }
+
+    public String toString() {
+        StringBuilder str = new StringBuilder(String.format(
+            "%,d rounds replayed in %.2f s (%,.0f rounds/s): recorded net %+,.1f chips, replayed net %+,.1f chips, %,d rounds differ",
+            rounds, elapsedNanos / 1e9, rounds / (elapsedNanos / 1e9), Bankroll.toChips(recordedNetResult),
+            Bankroll.toChips(replayedNetResult), mismatchedRounds));
+        for (String mismatch : mismatches) {
+            str.append(System.lineSeparator()).append("  ").append(mismatch);
+        }
+        return str.toString();
+    }
+}
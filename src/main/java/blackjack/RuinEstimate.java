@@ -0,0 +1,55 @@
+package blackjack;
+
+// A ruin probability estimated by splitting: the chance of falling from each
+// bankroll level to the next one down before reaching the target, measured
+// one level at a time, multiplied together. Each level needs only a
+// reasonable share of sessions to get through, so a ruin probability of one
+// in a billion takes thousands of sessions per level, not billions.
+public final class RuinEstimate {
+    // Ledger units each level lies below; the last one is ruin.
+    private long[] levels;
+    private double[] levelProbabilities;
+    private int effort;
+    private long rounds;
+    private long elapsedNanos;
+
+    RuinEstimate(long[] levels, double[] levelProbabilities, int effort, long rounds, long elapsedNanos) {
+        this.levels = levels;
+        this.levelProbabilities = levelProbabilities;
+        this.effort = effort;
+        this.rounds = rounds;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double getProbability() {
+        double probability = 1;
+        for (double p : levelProbabilities) {
+            probability *= p;
+        }
+        return probability;
+    }
+
+    // Relative standard error, taking the levels as independent. Infinite
+    // when some level was never reached.
+    public double getRelativeError() {
+        double variance = 0;
+        for (double p : levelProbabilities) {
+            if (p == 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            variance += (1 - p) / (effort * p);
+        }
+        return Math.sqrt(variance);
+    }
+
+    public String toString() {
+        StringBuilder str = new StringBuilder(String.format(
+            "Splitting over %d levels, %,d sessions each (%,d rounds in %.2f s): ruin %.4g, relative error %.1f%%",
+            levels.length, effort, rounds, elapsedNanos / 1e9, getProbability(), 100 * getRelativeError()));
+        for (int i = 0; i < levels.length; i++) {
+            str.append(System.lineSeparator()).append(String.format("  below %,10.1f chips  %.6f",
+                Bankroll.toChips(levels[i]), levelProbabilities[i]));
+        }
+        return str.toString();
+    }
+}
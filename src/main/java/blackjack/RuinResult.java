@@ -0,0 +1,152 @@
+package blackjack;
+
+import java.util.Arrays;
+
+// How sessions that start with the same bankroll end: ruined (less than a
+// chip left to bet), at the target, or still going when the round cap hit.
+// Memory stays fixed however many sessions are added: ruins are counted by
+// the survival checkpoint they fall before (1, 2 and 5 times each power of
+// ten up to the cap), and each session's largest drawdown from its peak in
+// whole chips, up to the target, by the log-linear buckets of
+// LatencyHistogram, so drawdown quantiles are exact below 16 chips and within
+// 1/16 above.
+public final class RuinResult {
+    enum SessionEnd { RUINED, REACHED_TARGET, CAPPED }
+
+    private long bankrollChips;
+    private long targetChips;
+    private long sessions;
+    private long ruined;
+    private long reachedTarget;
+    private long rounds;
+    private long elapsedNanos;
+    private long[] checkpoints;
+    // Sessions ruined after the previous checkpoint and by this one.
+    private long[] ruins;
+    // Sessions by the LatencyHistogram bucket of their largest drawdown in
+    // whole chips, counting every drawdown beyond the target as the target.
+    private long[] drawdowns;
+
+    RuinResult(long bankrollChips, long targetChips, long maxRounds) {
+        this.bankrollChips = bankrollChips;
+        this.targetChips = targetChips;
+        this.checkpoints = newCheckpoints(maxRounds);
+        this.ruins = new long[checkpoints.length];
+        this.drawdowns = new long[LatencyHistogram.BUCKET_COUNT];
+    }
+
+    private static long[] newCheckpoints(long maxRounds) {
+        long[] checkpoints = new long[64];
+        int count = 0;
+        for (long decade = 1; decade < maxRounds; decade *= 10) {
+            for (int step : new int[] { 1, 2, 5 }) {
+                if (decade * step < maxRounds) {
+                    checkpoints[count++] = decade * step;
+                }
+            }
+        }
+        checkpoints[count++] = maxRounds;
+        return Arrays.copyOf(checkpoints, count);
+    }
+
+    void addSession(SessionEnd end, long sessionRounds, long maxDrawdownUnits) {
+        sessions++;
+        rounds += sessionRounds;
+        if (end == SessionEnd.RUINED) {
+            ruined++;
+            int i = 0;
+            while (checkpoints[i] < sessionRounds) {
+                i++;
+            }
+            ruins[i]++;
+        }
+        else if (end == SessionEnd.REACHED_TARGET) {
+            reachedTarget++;
+        }
+        drawdowns[LatencyHistogram.bucketIndex(Math.min(maxDrawdownUnits / Bankroll.UNITS_PER_CHIP, targetChips))]++;
+    }
+
+    // Add another result for the same bankroll, target and round cap.
+    void addAll(RuinResult other) {
+        assert checkpoints.length == other.checkpoints.length && drawdowns.length == other.drawdowns.length;
+        sessions += other.sessions;
+        ruined += other.ruined;
+        reachedTarget += other.reachedTarget;
+        rounds += other.rounds;
+        for (int i = 0; i < ruins.length; i++) {
+            ruins[i] += other.ruins[i];
+        }
+        for (int i = 0; i < drawdowns.length; i++) {
+            drawdowns[i] += other.drawdowns[i];
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getSessions() {
+        return sessions;
+    }
+
+    public long getRuined() {
+        return ruined;
+    }
+
+    public long getReachedTarget() {
+        return reachedTarget;
+    }
+
+    public double getRuinProbability() {
+        return sessions == 0 ? 0 : (double)ruined / sessions;
+    }
+
+    // Half width of the 95% confidence interval of the ruin probability.
+    public double getRuinHalfWidth() {
+        double p = getRuinProbability();
+        return sessions == 0 ? 0 : RunningStatistics.Z_95 * Math.sqrt(p * (1 - p) / sessions);
+    }
+
+    public long[] getCheckpoints() {
+        return checkpoints.clone();
+    }
+
+    // Share of sessions not ruined within the given checkpoint's rounds.
+    public double getSurvival(int checkpoint) {
+        long ruinedBy = 0;
+        for (int i = 0; i <= checkpoint; i++) {
+            ruinedBy += ruins[i];
+        }
+        return sessions == 0 ? 1 : 1 - (double)ruinedBy / sessions;
+    }
+
+    // Largest drawdown in whole chips that the given share of sessions stay
+    // within, as the start of its bucket.
+    public long getDrawdownQuantile(double quantile) {
+        long rank = (long)Math.ceil(quantile * sessions);
+        long count = 0;
+        for (int i = 0; i < drawdowns.length; i++) {
+            count += drawdowns[i];
+            if (count >= rank) {
+                return LatencyHistogram.bucketStart(i);
+            }
+        }
+        return targetChips;
+    }
+
+    public String toString() {
+        StringBuilder str = new StringBuilder(String.format(
+            "%,d sessions from %,d chips to %,d (%,d rounds in %.2f s): ruined %.4f%% +/- %.4f%% (95%%), reached target %.4f%%, capped %.4f%%",
+            sessions, bankrollChips, targetChips, rounds, elapsedNanos / 1e9, 100 * getRuinProbability(),
+            100 * getRuinHalfWidth(), 100.0 * reachedTarget / Math.max(1, sessions),
+            100.0 * (sessions - ruined - reachedTarget) / Math.max(1, sessions)));
+        str.append(System.lineSeparator()).append("Survival by rounds played:");
+        for (int i = 0; i < checkpoints.length; i++) {
+            str.append(System.lineSeparator()).append(String.format("  %,15d  %.6f", checkpoints[i], getSurvival(i)));
+        }
+        str.append(System.lineSeparator()).append(String.format(
+            "Largest drawdown in chips: median %d, 90%% %d, 99%% %d, 99.9%% %d", getDrawdownQuantile(0.5),
+            getDrawdownQuantile(0.9), getDrawdownQuantile(0.99), getDrawdownQuantile(0.999)));
+        return str.toString();
+    }
+}
@@ -0,0 +1,280 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+// Plays sessions that start with a bankroll and go on until it is ruined,
+// less than a chip left to bet, or it reaches a target. Each session plays
+// against a real Bankroll, so insurance, splits and doubles are limited by
+// what is left just as in the game.
+//
+// run plays independent sessions and gives the ruin probability, survival
+// curve and drawdown quantiles. estimate gets at ruin probabilities too
+// small for that by fixed effort splitting: the way down from the bankroll
+// to ruin is cut into levels, and every level plays the same number of
+// sessions, each starting from a bankroll at which a session of the level
+// above got through, and counts the share that get through to the next.
+// Sessions pick up the shoe where their seat left it, not where the session
+// they start from crossed the level; for a shuffled shoe that makes little
+// difference, but it is an approximation for count-driven betting.
+//
+// Like ParallelSimulator, the work is cut into a fixed number of seats, each
+// with its own Shoe and random stream, merged in order, so a seed gives the
+// same result with any number of threads.
+public final class RuinSimulator {
+    private static final int SEAT_COUNT = 64;
+    private static final long DEFAULT_SESSIONS = 10000;
+    private static final long DEFAULT_MAX_ROUNDS = 1000000;
+
+    private ForkJoinPool pool;
+    private TableRules rules;
+    private RandomAlgorithm algorithm;
+    private long bankrollChips;
+    private long targetChips;
+    // Sessions still going after this many rounds are cut off.
+    private long maxRounds;
+    private Function<Shoe, PlayerStrategy> strategyFactory;
+    private Function<Shoe, BetPolicy> betPolicyFactory;
+
+    public RuinSimulator(int threadCount, TableRules rules, RandomAlgorithm algorithm, long bankrollChips,
+        long targetChips, long maxRounds, Function<Shoe, PlayerStrategy> strategyFactory,
+        Function<Shoe, BetPolicy> betPolicyFactory) {
+        if (bankrollChips < 1 || targetChips <= bankrollChips || targetChips > Long.MAX_VALUE / Bankroll.UNITS_PER_CHIP) {
+            throw new IllegalArgumentException("The target must be above a bankroll of at least 1 chip.");
+        }
+        if (maxRounds < 1) {
+            throw new IllegalArgumentException("Sessions must be allowed at least 1 round.");
+        }
+        assert threadCount >= 1;
+        this.pool = new ForkJoinPool(threadCount);
+        this.rules = rules;
+        this.algorithm = algorithm;
+        this.bankrollChips = bankrollChips;
+        this.targetChips = targetChips;
+        this.maxRounds = maxRounds;
+        this.strategyFactory = strategyFactory;
+        this.betPolicyFactory = betPolicyFactory;
+    }
+
+    public static void main(String[] args) {
+        final TableRules rules = TableRules.fromArgs(args);
+        RandomAlgorithm algorithm = RandomAlgorithm.fromArgs(args);
+        // Also estimate the ruin probability by splitting over this many
+        // levels, with as many sessions per level as the direct run plays.
+        String split = Options.get(args, "split");
+        String maxRoundsOption = Options.get(args, "max-rounds");
+        long maxRounds = maxRoundsOption == null ? DEFAULT_MAX_ROUNDS : Long.parseLong(maxRoundsOption);
+        args = Options.positional(args);
+        if (args.length < 3) {
+            System.err.println("Usage: RuinSimulator <sessions> <bankroll> <target> [<seed> [<threads> [<strategy> [<betting>]]]]");
+            System.err.println("    [--split=<levels>] [--max-rounds=<rounds>] [--rules=<rules>] [--rng=<algorithm>]");
+            System.exit(1);
+        }
+
+        long sessions = Long.parseLong(args[0]);
+        long bankrollChips = Long.parseLong(args[1]);
+        long targetChips = Long.parseLong(args[2]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int threadCount = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        final String strategyName = args.length > 5 ? args[5] : "basic";
+        final String betting = args.length > 6 ? args[6] : "flat";
+
+        RuinSimulator simulator = new RuinSimulator(threadCount, rules, algorithm, bankrollChips, targetChips,
+            maxRounds, shoe -> Simulator.newStrategy(strategyName, shoe, rules),
+            shoe -> Simulator.newBetPolicy(betting, shoe));
+        try {
+            System.out.printf("Seed %d (%s), %d threads%n", seed, algorithm, threadCount);
+            System.out.println(simulator.run(sessions, seed));
+            if (split != null) {
+                System.out.println(simulator.estimate(Integer.parseInt(split), (int)sessions, seed));
+            }
+        }
+        finally {
+            simulator.shutdown();
+        }
+    }
+
+    public RuinResult run(long sessions, long seed) {
+        Seat[] seats = newSeats(seed);
+        List<Callable<RuinResult>> tasks = new ArrayList<Callable<RuinResult>>(SEAT_COUNT);
+        for (int i = 0; i < SEAT_COUNT; i++) {
+            final Seat seat = seats[i];
+            // Spread the remainder over the first seats.
+            final long seatSessions = sessions / SEAT_COUNT + (i < sessions % SEAT_COUNT ? 1 : 0);
+            tasks.add(new Callable<RuinResult>() {
+                public RuinResult call() {
+                    RuinResult result = new RuinResult(bankrollChips, targetChips, maxRounds);
+                    long startUnits = Bankroll.UNITS_PER_CHIP * bankrollChips;
+                    for (long n = 0; n < seatSessions; n++) {
+                        RuinResult.SessionEnd end = seat.play(startUnits, Bankroll.UNITS_PER_CHIP,
+                            Bankroll.UNITS_PER_CHIP * targetChips, maxRounds);
+                        result.addSession(end, seat.rounds, seat.maxDrawdown);
+                    }
+                    return result;
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        RuinResult result = new RuinResult(bankrollChips, targetChips, maxRounds);
+        for (RuinResult seatResult : invokeAll(tasks)) {
+            result.addAll(seatResult);
+        }
+        result.setElapsedNanos(System.nanoTime() - startTime);
+        return result;
+    }
+
+    // Estimate the ruin probability by splitting over the given number of
+    // levels, evenly spaced whole chips from the bankroll down to one chip,
+    // with effort sessions per level. The levels must all differ, so there
+    // can be no more of them than chips between the bankroll and ruin. A
+    // level no session gets through ends the estimate at zero.
+    public RuinEstimate estimate(int levelCount, int effort, long seed) {
+        if (levelCount < 1 || levelCount > Math.max(1, bankrollChips - 1) || effort < 1) {
+            throw new IllegalArgumentException("Splitting needs at least 1 session and 1 level, and at most a level per chip above ruin.");
+        }
+        final long targetUnits = Bankroll.UNITS_PER_CHIP * targetChips;
+        long startUnits = Bankroll.UNITS_PER_CHIP * bankrollChips;
+        // Level k lies 1 + (bankrollChips - 1) * (levelCount - 1 - k) / levelCount
+        // chips up, worked out without overflowing.
+        long spacing = (bankrollChips - 1) / levelCount;
+        long remainder = (bankrollChips - 1) % levelCount;
+        long[] levels = new long[levelCount];
+        for (int k = 0; k < levelCount; k++) {
+            long steps = levelCount - 1 - k;
+            levels[k] = Bankroll.UNITS_PER_CHIP * (1 + spacing * steps + remainder * steps / levelCount);
+            assert k == 0 ? levels[k] <= startUnits : levels[k] < levels[k - 1];
+        }
+
+        Seat[] seats = newSeats(seed);
+        double[] levelProbabilities = new double[levelCount];
+        long rounds = 0;
+        long startTime = System.nanoTime();
+        // Bankrolls at which sessions got through the level above.
+        long[] entries = { startUnits };
+
+        for (int k = 0; k < levelCount; k++) {
+            final long[] levelEntries = entries;
+            final long floorUnits = levels[k];
+            List<Callable<long[]>> tasks = new ArrayList<Callable<long[]>>(SEAT_COUNT);
+            for (int i = 0; i < SEAT_COUNT; i++) {
+                final Seat seat = seats[i];
+                final int seatSessions = effort / SEAT_COUNT + (i < effort % SEAT_COUNT ? 1 : 0);
+                // Returns the rounds played, then the bankrolls that got through.
+                tasks.add(new Callable<long[]>() {
+                    public long[] call() {
+                        long[] through = new long[seatSessions + 1];
+                        int count = 1;
+                        for (int n = 0; n < seatSessions; n++) {
+                            long entry = levelEntries[seat.randomizer.nextInt(levelEntries.length)];
+                            if (seat.play(entry, floorUnits, targetUnits, maxRounds) == RuinResult.SessionEnd.RUINED) {
+                                through[count++] = seat.units;
+                            }
+                            through[0] += seat.rounds;
+                        }
+                        return Arrays.copyOf(through, count);
+                    }
+                });
+            }
+
+            long[] nextEntries = new long[effort];
+            int count = 0;
+            for (long[] through : invokeAll(tasks)) {
+                rounds += through[0];
+                System.arraycopy(through, 1, nextEntries, count, through.length - 1);
+                count += through.length - 1;
+            }
+            levelProbabilities[k] = (double)count / effort;
+            if (count == 0) {
+                break;
+            }
+            entries = Arrays.copyOf(nextEntries, count);
+        }
+
+        return new RuinEstimate(levels, levelProbabilities, effort, rounds, System.nanoTime() - startTime);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private Seat[] newSeats(long seed) {
+        RandomStreams streams = new RandomStreams(algorithm, seed);
+        Seat[] seats = new Seat[SEAT_COUNT];
+        for (int i = 0; i < SEAT_COUNT; i++) {
+            Shoe shoe = rules.newShoe(streams.next());
+            seats[i] = new Seat(new Table(shoe, strategyFactory.apply(shoe), new TableListener() {}, rules),
+                betPolicyFactory.apply(shoe), streams.next());
+        }
+        return seats;
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            for (Future<T> task : pool.invokeAll(tasks)) {
+                results.add(task.get());
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted.", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed.", e.getCause());
+        }
+        return results;
+    }
+
+    // A table and bet policy that play one session after another. After each
+    // session it holds how many rounds it took, the bankroll it ended with
+    // and its largest drawdown, in ledger units.
+    private static final class Seat {
+        private Table table;
+        private BetPolicy betPolicy;
+        // Picks where splitting sessions start.
+        private RandomGenerator randomizer;
+        private long rounds;
+        private long units;
+        private long maxDrawdown;
+
+        Seat(Table table, BetPolicy betPolicy, RandomGenerator randomizer) {
+            this.table = table;
+            this.betPolicy = betPolicy;
+            this.randomizer = randomizer;
+        }
+
+        // Play from startUnits until the bankroll falls below floorUnits,
+        // reaches targetUnits or maxRounds are played.
+        RuinResult.SessionEnd play(long startUnits, long floorUnits, long targetUnits, long maxRounds) {
+            Bankroll bankroll = Bankroll.ofUnits(startUnits);
+            long peak = startUnits;
+            units = startUnits;
+            rounds = 0;
+            maxDrawdown = 0;
+            while (true) {
+                if (units < floorUnits) {
+                    return RuinResult.SessionEnd.RUINED;
+                }
+                if (units >= targetUnits) {
+                    return RuinResult.SessionEnd.REACHED_TARGET;
+                }
+                if (rounds >= maxRounds) {
+                    return RuinResult.SessionEnd.CAPPED;
+                }
+                table.playRound(betPolicy.betAmount(bankroll.getAvailableChips()), bankroll);
+                rounds++;
+                units = bankroll.getUnits();
+                peak = Math.max(peak, units);
+                maxDrawdown = Math.max(maxDrawdown, peak - units);
+            }
+        }
+    }
+}
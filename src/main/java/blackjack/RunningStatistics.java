@@ -0,0 +1,67 @@
+package blackjack;
+
+// Mean and variance of a stream of values in constant space, updated one value
+// at a time with Welford's method so the variance stays accurate over any
+// number of values. Two accumulators merge exactly, so runs split over
+// threads combine to the same statistics as one long run.
+public final class RunningStatistics {
+    // Two-sided 95% confidence.
+    public static final double Z_95 = 1.959964;
+
+    private long count;
+    private double mean;
+    // Sum of squared differences from the mean.
+    private double m2;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    // Add everything another accumulator has seen.
+    public void addAll(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double)count * other.count / total);
+        count = total;
+    }
+
+    public void clear() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    // Sample variance.
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getStandardError() {
+        return count > 1 ? Math.sqrt(getVariance() / count) : Double.POSITIVE_INFINITY;
+    }
+
+    // Half the width of the confidence interval around the mean for the
+    // given number of standard errors.
+    public double getConfidenceHalfWidth(double z) {
+        return z * getStandardError();
+    }
+}
@@ -0,0 +1,44 @@
+package blackjack;
+
+// Plays the lanes one at a time. Used wherever the vector module is not
+// available and for the lanes left over after the last full vector.
+final class ScalarDealerKernel implements DealerKernel {
+    private int softThreshold;
+
+    ScalarDealerKernel(DealerRule dealerRule) {
+        // The dealer stands on soft 17 unless the rule says to hit it.
+        softThreshold = dealerRule.hitsSoft17() ? 18 : 17;
+    }
+
+    public int draw(int[] hardValues, int[] aces, int[] done, int[] cards, int laneCount) {
+        return draw(hardValues, aces, done, cards, 0, laneCount);
+    }
+
+    int draw(int[] hardValues, int[] aces, int[] done, int[] cards, int from, int to) {
+        int drawing = 0;
+        for (int i = from; i < to; i++) {
+            if (done[i] != 0) {
+                continue;
+            }
+
+            int hardValue = hardValues[i] + cards[i];
+            int ace = aces[i] | (cards[i] == 1 ? 1 : 0);
+            hardValues[i] = hardValue;
+            aces[i] = ace;
+
+            boolean soft = ace != 0 && hardValue <= 11;
+            int value = soft ? hardValue + 10 : hardValue;
+            if (value >= (soft ? softThreshold : 17)) {
+                done[i] = 1;
+            }
+            else {
+                drawing++;
+            }
+        }
+        return drawing;
+    }
+
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,91 @@
+package blackjack;
+
+// Settles a player hand against the dealer's with one array read. Each hand
+// is boiled down to a code (its value 0 to 21, busted or blackjack) and a
+// matrix indexed by the player's and dealer's codes holds the Outcome and
+// what comes back per chip bet, in ledger units, packed into one int:
+//
+//   bits 0-3    Outcome ordinal
+//   bits 4-31   ledger units returned per chip bet, the bet included
+//
+// A doubled hand is settled the same way with its doubled bet. Every
+// BlackjackPayout keeps its own matrix.
+public final class Settlement {
+    public static final int BUSTED = 22;
+    public static final int BLACKJACK = 23;
+    public static final int CODE_COUNT = 24;
+
+    private static final int OUTCOME_MASK = 0xF;
+    private static final int RETURN_SHIFT = 4;
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    // Code of every hand that is not a blackjack, indexed by
+    // HandState.valueIndex.
+    private static final int[] CODES = new int[HandState.VALUE_INDEX_COUNT];
+
+    static {
+        for (int index = 0; index < CODES.length; index++) {
+            int softValue = HandState.softValue(index);
+            CODES[index] = softValue > 21 ? BUSTED : softValue;
+        }
+    }
+
+    private Settlement() {}
+
+    // A split hand's ace and ten counts as 21, not as a blackjack.
+    public static int code(int handState, boolean blackjackAllowed) {
+        return blackjackAllowed && HandState.isBlackjack(handState) ? BLACKJACK
+            : CODES[HandState.valueIndex(handState)];
+    }
+
+    public static Outcome outcome(int entry) {
+        return OUTCOMES[entry & OUTCOME_MASK];
+    }
+
+    public static int returnUnits(int entry) {
+        return entry >>> RETURN_SHIFT;
+    }
+
+    // The matrix for a table where a blackjack returns the given ledger units
+    // per chip, indexed by player code * CODE_COUNT + dealer code.
+    static int[] newMatrix(int blackjackReturnUnits) {
+        assert OUTCOMES.length <= OUTCOME_MASK + 1;
+        int push = Bankroll.UNITS_PER_CHIP;
+        int win = 2 * Bankroll.UNITS_PER_CHIP;
+
+        int[] matrix = new int[CODE_COUNT * CODE_COUNT];
+        for (int player = 0; player < CODE_COUNT; player++) {
+            for (int dealer = 0; dealer < CODE_COUNT; dealer++) {
+                int entry;
+                if (player == BLACKJACK) {
+                    entry = dealer == BLACKJACK ? entry(Outcome.BLACKJACK_PUSH, push)
+                        : entry(Outcome.PLAYER_BLACKJACK, blackjackReturnUnits);
+                }
+                else if (dealer == BLACKJACK) {
+                    entry = entry(Outcome.DEALER_BLACKJACK, 0);
+                }
+                else if (player == BUSTED) {
+                    entry = entry(Outcome.PLAYER_BUSTED, 0);
+                }
+                else if (dealer == BUSTED) {
+                    entry = entry(Outcome.DEALER_BUSTED, win);
+                }
+                else if (player > dealer) {
+                    entry = entry(Outcome.PLAYER_WINS, win);
+                }
+                else if (player == dealer) {
+                    entry = entry(Outcome.PUSH, push);
+                }
+                else {
+                    entry = entry(Outcome.DEALER_WINS, 0);
+                }
+                matrix[player * CODE_COUNT + dealer] = entry;
+            }
+        }
+        return matrix;
+    }
+
+    private static int entry(Outcome outcome, int returnUnits) {
+        return (returnUnits << RETURN_SHIFT) | outcome.ordinal();
+    }
+}
@@ -0,0 +1,95 @@
+package blackjack;
+
+import java.util.random.RandomGenerator;
+
+// A multi-deck shoe with a cut card. The shoe is only reshuffled at the end
+// of a round once the cut card has come out, like at a casino table, so
+// between rounds it always holds what the next round will be dealt from.
+public final class Shoe implements CardSource {
+    public static final int DEFAULT_DECK_COUNT = 6;
+    public static final double DEFAULT_PENETRATION = 0.75;
+
+    private Deck deck;
+    private int deckCount;
+    private int cutCardIndex;
+    private int roundStartIndex;
+
+    public Shoe() {
+        this(DEFAULT_DECK_COUNT, DEFAULT_PENETRATION, RandomAlgorithm.DEFAULT.create());
+    }
+
+    // Penetration is the share of the shoe dealt before the cut card comes out.
+    // A penetration of 0 reshuffles after every round.
+    public Shoe(int deckCount, double penetration, RandomGenerator randomizer) {
+        if (deckCount < 1) {
+            throw new IllegalArgumentException("A shoe needs at least one deck.");
+        }
+        if (penetration < 0.0 || penetration > 1.0) {
+            throw new IllegalArgumentException("Penetration must be between 0 and 1.");
+        }
+
+        this.deck = new Deck(deckCount, randomizer);
+        this.deckCount = deckCount;
+        this.cutCardIndex = (int)(penetration * deck.size());
+        roundStartIndex = 0;
+    }
+
+    // A shoe dealt from a shuffle tape, with the tape's number of decks. The
+    // generator only shuffles discards back in when a round runs out of cards.
+    public Shoe(ShuffleTape tape, double penetration, RandomGenerator randomizer) {
+        if (penetration < 0.0 || penetration > 1.0) {
+            throw new IllegalArgumentException("Penetration must be between 0 and 1.");
+        }
+
+        this.deck = new Deck(tape, randomizer);
+        this.deckCount = tape.getDeckCount();
+        this.cutCardIndex = (int)(penetration * deck.size());
+        roundStartIndex = 0;
+    }
+
+    public void startRound() {
+        roundStartIndex = deck.getCardsDealt();
+    }
+
+    public void endRound() {
+        if (deck.getCardsDealt() >= cutCardIndex) {
+            deck.shuffle();
+        }
+    }
+
+    public Card dealNextCard() {
+        return Card.of(dealNextCardIndex());
+    }
+
+    public int dealNextCardIndex() {
+        if (deck.getCardsRemaining() == 0) {
+            // Ran out mid-round: the cards of this round stay on the table
+            // and the discards go back into the shoe.
+            deck.reshuffleDiscards(roundStartIndex);
+            roundStartIndex = 0;
+        }
+        return deck.dealNextCardIndex();
+    }
+
+    public int getDeckCount() {
+        return deckCount;
+    }
+
+    public int getCardsRemaining() {
+        return deck.getCardsRemaining();
+    }
+
+    // Number of undealt cards with the given blackjack value (1 for an ace).
+    public int getRemainingCount(int value) {
+        return deck.getRemainingCount(value);
+    }
+
+    // Undealt cards by blackjack value, indexed 1 (ace) to 10.
+    public int[] getComposition() {
+        int[] composition = new int[11];
+        for (int value = 1; value <= 10; value++) {
+            composition[value] = deck.getRemainingCount(value);
+        }
+        return composition;
+    }
+}
@@ -0,0 +1,229 @@
+package blackjack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Shuffled shoe orders made once and stored in a file, one byte per card (its
+// Cards index), so strategies can be compared on exactly the same cards and
+// the shuffle is paid for once across every run. A Deck made from a tape
+// deals each shoe in the stored order.
+//
+// The file is a 16 byte header ("BJT1", the decks per shoe and the number of
+// shoes) followed by the shoes back to back. Every shoe is checked to hold
+// each card exactly once per deck when the tape is opened. It is mapped read
+// only; readers made with at() share the mapping, each with its own stretch
+// of shoes. A reader that deals more shoes than its stretch goes on into the
+// shoes after it, starting over at the end of the tape, and reports that
+// shoes were dealt twice with isReused(); callers check shoesNeeded() first
+// so that does not happen unnoticed.
+public final class ShuffleTape {
+    static final int MAGIC = 0x424a5431;
+    private static final int HEADER_SIZE = 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    // Cards dealt per round, a little over what basic strategy averages, so
+    // shoesNeeded() errs on the high side.
+    private static final double CARDS_PER_ROUND = 6.0;
+
+    private int deckCount;
+    private int shoeSize;
+    private long shoeCount;
+    // A single mapping is limited to 2 GB, so longer tapes are mapped in
+    // chunks of whole shoes.
+    private MappedByteBuffer[] chunks;
+    private int shoesPerChunk;
+
+    private long nextShoe;
+    // Shoes this reader may deal before it deals some a second time.
+    private long stretch;
+    private long shoesRead;
+
+    public ShuffleTape(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {}
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a shuffle tape.");
+            }
+            deckCount = header.getInt();
+            shoeCount = header.getLong();
+            shoeSize = deckCount * Cards.CARD_COUNT;
+            if (deckCount < 1 || shoeCount < 1
+                || channel.size() < HEADER_SIZE + shoeCount * shoeSize) {
+                throw new IOException(path + " is a damaged shuffle tape.");
+            }
+
+            shoesPerChunk = Integer.MAX_VALUE / shoeSize;
+            chunks = new MappedByteBuffer[(int)((shoeCount + shoesPerChunk - 1) / shoesPerChunk)];
+            for (int i = 0; i < chunks.length; i++) {
+                long firstShoe = (long)i * shoesPerChunk;
+                long shoes = Math.min(shoesPerChunk, shoeCount - firstShoe);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + firstShoe * shoeSize, shoes * shoeSize);
+            }
+        }
+        validate(path);
+        nextShoe = 0;
+        stretch = shoeCount;
+        shoesRead = 0;
+    }
+
+    private ShuffleTape(ShuffleTape other, long firstShoe, long stretch) {
+        deckCount = other.deckCount;
+        shoeSize = other.shoeSize;
+        shoeCount = other.shoeCount;
+        chunks = other.chunks;
+        shoesPerChunk = other.shoesPerChunk;
+        nextShoe = Math.floorMod(firstShoe, shoeCount);
+        this.stretch = stretch;
+        shoesRead = 0;
+    }
+
+    // A damaged tape would deal cards that don't exist or a shoe with the
+    // wrong cards, so every shoe must hold each card once per deck.
+    private void validate(Path path) throws IOException {
+        byte[] shoe = new byte[shoeSize];
+        int[] counts = new int[Cards.CARD_COUNT];
+        for (long n = 0; n < shoeCount; n++) {
+            MappedByteBuffer chunk = chunks[(int)(n / shoesPerChunk)];
+            chunk.get((int)(n % shoesPerChunk) * shoeSize, shoe);
+            Arrays.fill(counts, 0);
+            for (byte card : shoe) {
+                if (card < 0 || card >= Cards.CARD_COUNT) {
+                    throw new IOException(path + " is a damaged shuffle tape: shoe " + n
+                        + " holds card index " + card + ".");
+                }
+                counts[card]++;
+            }
+            for (int card = 0; card < Cards.CARD_COUNT; card++) {
+                if (counts[card] != deckCount) {
+                    throw new IOException(path + " is a damaged shuffle tape: shoe " + n + " holds card "
+                        + card + " " + counts[card] + " times instead of " + deckCount + ".");
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] positional = Options.positional(args);
+        if (positional.length < 2) {
+            System.out.println("Usage: ShuffleTape <file> <shoes> [<decks> [<seed>]] [--rng=<generator>]");
+            return;
+        }
+        long shoeCount = Long.parseLong(positional[1]);
+        int deckCount = positional.length > 2 ? Integer.parseInt(positional[2]) : Shoe.DEFAULT_DECK_COUNT;
+        RandomAlgorithm algorithm = RandomAlgorithm.fromArgs(args);
+        RandomGenerator randomizer = positional.length > 3
+            ? algorithm.create(Long.parseLong(positional[3])) : algorithm.create();
+
+        long startTime = System.nanoTime();
+        write(Paths.get(positional[0]), deckCount, shoeCount, randomizer);
+        long elapsedNanos = System.nanoTime() - startTime;
+        System.out.printf("%,d shoes of %d decks (%,d bytes) in %.2f s%n", shoeCount, deckCount,
+            HEADER_SIZE + shoeCount * deckCount * Cards.CARD_COUNT, elapsedNanos / 1e9);
+    }
+
+    // Write a new tape of fully shuffled shoes, replacing any file at path.
+    public static void write(Path path, int deckCount, long shoeCount, RandomGenerator randomizer)
+        throws IOException {
+        if (deckCount < 1 || shoeCount < 1) {
+            throw new IllegalArgumentException("A shuffle tape needs at least one deck and one shoe.");
+        }
+
+        byte[] shoe = new byte[deckCount * Cards.CARD_COUNT];
+        for (int i = 0; i < shoe.length; i++) {
+            shoe[i] = (byte)(i % Cards.CARD_COUNT);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(WRITE_BUFFER_SIZE, shoe.length));
+            buffer.putInt(MAGIC).putInt(deckCount).putLong(shoeCount);
+            for (long n = 0; n < shoeCount; n++) {
+                // Fisher-Yates over the previous shoe's order is as good a
+                // shuffle as starting from a sorted shoe.
+                for (int i = shoe.length - 1; i > 0; i--) {
+                    int j = randomizer.nextInt(i + 1);
+                    byte card = shoe[i];
+                    shoe[i] = shoe[j];
+                    shoe[j] = card;
+                }
+                if (buffer.remaining() < shoe.length) {
+                    writeFully(channel, buffer);
+                }
+                buffer.put(shoe);
+            }
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Another reader of the same tape for the given number of shoes from
+    // firstShoe on.
+    public ShuffleTape at(long firstShoe, long shoes) {
+        return new ShuffleTape(this, firstShoe, shoes);
+    }
+
+    public int getDeckCount() {
+        return deckCount;
+    }
+
+    public long getShoeCount() {
+        return shoeCount;
+    }
+
+    // About how many shoes playing the given number of rounds deals, rounded
+    // up, when the cut card sits at the given penetration.
+    public long shoesNeeded(long rounds, double penetration) {
+        long roundsPerShoe = Math.max(1, (long)(penetration * shoeSize / CARDS_PER_ROUND));
+        // The first shoe is read before the first round.
+        return (rounds + roundsPerShoe - 1) / roundsPerShoe + 1;
+    }
+
+    // Refuse a run that needs more shoes than its stretch of the tape holds:
+    // dealing shoes twice would make the results look surer than they are.
+    // The work, e.g. "A run of 1,000 rounds", starts the message.
+    static void requireShoes(long stretch, long shoesNeeded, String work) {
+        if (shoesNeeded > stretch) {
+            throw new IllegalArgumentException(String.format(
+                "%s needs about %,d shoes but the tape has only %,d for it; write a longer tape.",
+                work, shoesNeeded, stretch));
+        }
+    }
+
+    public long getShoesRead() {
+        return shoesRead;
+    }
+
+    // Whether this reader has dealt past its stretch, so some of its shoes
+    // were dealt before, by it or by another reader.
+    public boolean isReused() {
+        return shoesRead > stretch;
+    }
+
+    // Copy the next shoe's card order into cards.
+    void readShoe(int[] cards) {
+        assert cards.length == shoeSize;
+        MappedByteBuffer chunk = chunks[(int)(nextShoe / shoesPerChunk)];
+        int offset = (int)(nextShoe % shoesPerChunk) * shoeSize;
+        for (int i = 0; i < shoeSize; i++) {
+            cards[i] = chunk.get(offset + i);
+        }
+        nextShoe = nextShoe + 1 == shoeCount ? 0 : nextShoe + 1;
+        shoesRead++;
+    }
+}
@@ -0,0 +1,80 @@
+package blackjack;
+
+// Totals and statistics from a simulation run.
+public final class SimulationResult {
+    private long roundsPlayed;
+    private long handsPlayed;
+    private long totalBet;
+    private double netResult;
+    private long elapsedNanos;
+    private HandStatistics statistics;
+
+    public SimulationResult(long roundsPlayed, long handsPlayed, long totalBet, double netResult,
+        long elapsedNanos, HandStatistics statistics) {
+        this.roundsPlayed = roundsPlayed;
+        this.handsPlayed = handsPlayed;
+        this.totalBet = totalBet;
+        this.netResult = netResult;
+        this.elapsedNanos = elapsedNanos;
+        this.statistics = statistics;
+    }
+
+    // Combine the totals of two runs that happened at the same time, so the
+    // elapsed time is the longer of the two.
+    public SimulationResult merge(SimulationResult other) {
+        HandStatistics mergedStatistics = statistics.copy();
+        mergedStatistics.addAll(other.statistics);
+        return new SimulationResult(roundsPlayed + other.roundsPlayed,
+            handsPlayed + other.handsPlayed, totalBet + other.totalBet, netResult + other.netResult,
+            Math.max(elapsedNanos, other.elapsedNanos), mergedStatistics);
+    }
+
+    // Same totals with the elapsed time replaced, e.g. by the wall clock time
+    // of a parallel run.
+    public SimulationResult withElapsedNanos(long elapsedNanos) {
+        return new SimulationResult(roundsPlayed, handsPlayed, totalBet, netResult, elapsedNanos,
+            statistics);
+    }
+
+    public long getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    public long getHandsPlayed() {
+        return handsPlayed;
+    }
+
+    // Sum of the opening bets of every round, before splits and doubles.
+    public long getTotalBet() {
+        return totalBet;
+    }
+
+    // Chips won (positive) or lost (negative) over the whole run.
+    public double getNetResult() {
+        return netResult;
+    }
+
+    // Net result per chip of opening bet.
+    public double getExpectedValue() {
+        return netResult / totalBet;
+    }
+
+    public HandStatistics getStatistics() {
+        return statistics;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getHandsPerSecond() {
+        return handsPlayed / (elapsedNanos / 1e9);
+    }
+
+    public String toString() {
+        return String.format("%,d rounds (%,d hands) in %.2f s: %,.0f hands/s, net result %+,.1f chips (%+.4f per round, EV %+.3f%%)",
+            roundsPlayed, handsPlayed, elapsedNanos / 1e9, getHandsPerSecond(), netResult,
+            netResult / roundsPlayed, 100.0 * getExpectedValue())
+            + System.lineSeparator() + statistics;
+    }
+}
@@ -0,0 +1,198 @@
+package blackjack;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.random.RandomGenerator;
+
+// Plays rounds headless as fast as possible: no console, no pauses. Uses the
+// same Table rules as the interactive game with a pluggable player strategy.
+public final class Simulator {
+    private static final long DEFAULT_ROUNDS = 10000000L;
+    static final int DEFAULT_MAX_UNITS = 8;
+    // Rounds between checks of the confidence interval when running to a
+    // target width.
+    private static final int CHECK_INTERVAL = 1 << 16;
+    // Rounds per batch of metrics: counted locally, then added to the totals
+    // with one round of the batch timed.
+    private static final int METRICS_SAMPLE_INTERVAL = 256;
+
+    private Table table;
+    private BetPolicy betPolicy;
+    private HandStatistics statistics;
+
+    public Simulator(Shoe shoe, PlayerStrategy strategy, BetPolicy betPolicy) {
+        this(shoe, strategy, betPolicy, TableRules.DEFAULT);
+    }
+
+    public Simulator(Shoe shoe, PlayerStrategy strategy, BetPolicy betPolicy, TableRules rules) {
+        this.statistics = new HandStatistics();
+        this.table = new Table(shoe, strategy, statistics, rules);
+        this.betPolicy = betPolicy;
+    }
+
+    // The listener sees every event too, after the statistics.
+    public Simulator(Shoe shoe, PlayerStrategy strategy, BetPolicy betPolicy, TableRules rules,
+        TableListener listener) {
+        this.statistics = new HandStatistics();
+        this.table = new Table(shoe, strategy, new ListenerPair(statistics, listener), rules);
+        this.betPolicy = betPolicy;
+    }
+
+    public static void main(String[] args) throws IOException {
+        TableRules rules = TableRules.fromArgs(args);
+        RandomAlgorithm algorithm = RandomAlgorithm.fromArgs(args);
+        // Stop early once the EV is known to within this many percent either side.
+        String ci = Options.get(args, "ci");
+        double targetHalfWidth = ci == null ? 0 : Double.parseDouble(ci) / 100;
+        boolean showStartingHands = Options.has(args, "by-hand");
+        // Deal the shoes from a shuffle tape, so another run on the same tape
+        // sees the same cards.
+        String tapeFile = Options.get(args, "tape");
+        ShuffleTape tape = tapeFile == null ? null : new ShuffleTape(Paths.get(tapeFile));
+        if (tape != null) {
+            rules = rules.withDeckCount(tape.getDeckCount());
+        }
+        // Record live metrics, shown over JMX and printed every so many seconds.
+        String metricsPeriod = Options.get(args, "metrics");
+        args = Options.positional(args);
+
+        long rounds = DEFAULT_ROUNDS;
+        if (args.length > 0) {
+            rounds = Long.parseLong(args[0]);
+        }
+        if (args.length > 1) {
+            rules = rules.withDeckCount(Integer.parseInt(args[1]));
+        }
+        String strategyName = args.length > 2 ? args[2] : "basic";
+        String betting = args.length > 3 ? args[3] : "flat";
+
+        // A seed makes the run, and so its hand history, reproducible.
+        RandomGenerator randomizer = args.length > 5 ? algorithm.create(Long.parseLong(args[5]))
+            : algorithm.create();
+
+        if (tape != null) {
+            ShuffleTape.requireShoes(tape.getShoeCount(), tape.shoesNeeded(rounds, Shoe.DEFAULT_PENETRATION),
+                String.format("A run of %,d rounds", rounds));
+        }
+        Shoe shoe = tape == null ? rules.newShoe(randomizer) : rules.newShoe(tape, randomizer);
+        TableMetrics metrics = null;
+        // Null unless there are metrics to record.
+        TableMetrics.Recorder recorder = null;
+        if (metricsPeriod != null) {
+            metrics = new TableMetrics();
+            metrics.register("simulator");
+            recorder = metrics.newRecorder(METRICS_SAMPLE_INTERVAL);
+        }
+        MetricsDumper dumper = metrics == null ? null
+            : new MetricsDumper(metrics, System.out, Long.parseLong(metricsPeriod));
+        try {
+            if (args.length > 4) {
+                // Record every round to a hand history log.
+                try (HandHistoryWriter history = new HandHistoryWriter(Paths.get(args[4]))) {
+                    Simulator simulator = new Simulator(shoe, newStrategy(strategyName, shoe, rules),
+                        newBetPolicy(betting, shoe), rules,
+                        recorder == null ? history : new ListenerPair(history, recorder));
+                    printResult(simulator.run(rounds, targetHalfWidth), showStartingHands);
+                }
+            }
+            else {
+                PlayerStrategy strategy = newStrategy(strategyName, shoe, rules);
+                BetPolicy betPolicy = newBetPolicy(betting, shoe);
+                Simulator simulator = recorder == null ? new Simulator(shoe, strategy, betPolicy, rules)
+                    : new Simulator(shoe, strategy, betPolicy, rules, recorder);
+                printResult(simulator.run(rounds, targetHalfWidth), showStartingHands);
+            }
+        }
+        finally {
+            if (dumper != null) {
+                dumper.close();
+                recorder.flush();
+                System.out.println(metrics);
+            }
+        }
+        if (tape != null && tape.isReused()) {
+            System.err.printf("Warning: the run dealt %,d shoes from a tape of %,d, so some were dealt twice.%n",
+                tape.getShoesRead(), tape.getShoeCount());
+        }
+    }
+
+    private static void printResult(SimulationResult result, boolean showStartingHands) {
+        System.out.println(result);
+        if (showStartingHands) {
+            System.out.println();
+            System.out.println(result.getStatistics().formatStartingHands());
+        }
+    }
+
+    // Strategies by the name used on the command line: "basic" for the basic
+    // strategy chart, "composition" to solve for what is left in the shoe
+    // under the table's rules.
+    static PlayerStrategy newStrategy(String name, Shoe shoe, TableRules rules) {
+        switch (name) {
+            case "basic":
+                return new BasicStrategy();
+            case "composition":
+                return new CompositionStrategy(shoe, rules);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    // Bet policies by the name used on the command line: "flat" bets 1 chip,
+    // or a counting system ("hi-lo", "ko", "omega-ii") for a 1 to 8 unit spread.
+    static BetPolicy newBetPolicy(String name, Shoe shoe) {
+        return newBetPolicy(name, shoe, DEFAULT_MAX_UNITS);
+    }
+
+    // Counting systems spread from 1 to maxUnits units.
+    static BetPolicy newBetPolicy(String name, Shoe shoe, int maxUnits) {
+        switch (name) {
+            case "flat":
+                return new FlatBet(1);
+            case "hi-lo":
+                return new BetSpread(CountingSystem.HI_LO, shoe, 1, maxUnits);
+            case "ko":
+                return new BetSpread(CountingSystem.KO, shoe, 1, maxUnits);
+            case "omega-ii":
+                return new BetSpread(CountingSystem.OMEGA_II, shoe, 1, maxUnits);
+            default:
+                throw new IllegalArgumentException("Unknown bet policy: " + name);
+        }
+    }
+
+    // Play the given number of rounds with a bankroll that never runs out.
+    public SimulationResult run(long rounds) {
+        return run(rounds, 0);
+    }
+
+    // Play until the 95% confidence interval of the EV per round is no wider
+    // than targetHalfWidth either side of it, or maxRounds are played. A
+    // target of 0 always plays every round.
+    public SimulationResult run(long maxRounds, double targetHalfWidth) {
+        long handsAtStart = table.getHandsPlayed();
+        long rounds = 0;
+        long totalBet = 0;
+        // In ledger units, so the total stays exact over any number of rounds.
+        long netResult = 0;
+        Bankroll bankroll = Bankroll.unlimited();
+        statistics.clear();
+
+        long startTime = System.nanoTime();
+        while (rounds < maxRounds) {
+            long batchEnd = Math.min(maxRounds, rounds + CHECK_INTERVAL);
+            for (; rounds < batchEnd; rounds++) {
+                int betAmount = betPolicy.betAmount(bankroll.getAvailableChips());
+                totalBet += betAmount;
+                netResult += table.playRound(betAmount, bankroll);
+            }
+            if (targetHalfWidth > 0 && statistics.getRounds()
+                .getConfidenceHalfWidth(RunningStatistics.Z_95) <= targetHalfWidth) {
+                break;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        return new SimulationResult(rounds, table.getHandsPlayed() - handsAtStart, totalBet,
+            Bankroll.toChips(netResult), elapsedNanos, statistics.copy());
+    }
+}
@@ -0,0 +1,214 @@
+package blackjack;
+
+// Solves the best play for every player hand and dealer up card under a
+// table's rules: the dealer's soft 17 rule, splitting, double after split and
+// late surrender. Split aces get one card, split hands are not blackjacks and
+// insurance pays 2:1. The blackjack payout does not change any decision.
+// Splits are valued as a single split even when the table allows more hands.
+//
+// Every draw, the player's and the dealer's, uses the composition's card
+// shares without removing the cards already drawn. This is the usual
+// total-dependent approximation and keeps a full solve in the tens of
+// microseconds, cheap enough to re-solve as a shoe is dealt down.
+public final class StrategySolver {
+    private StrategySolver() {}
+
+    public static StrategyTable solve(int[] composition) {
+        return solve(composition, TableRules.DEFAULT);
+    }
+
+    // The composition holds the undealt cards by value, indexed 1 (ace) to 10.
+    public static StrategyTable solve(int[] composition, TableRules rules) {
+        byte[] startingActions = new byte[StrategyTable.ROWS * StrategyTable.COLUMNS];
+        byte[] actions = new byte[StrategyTable.ROWS * StrategyTable.COLUMNS];
+        boolean[] splits = new boolean[11 * StrategyTable.COLUMNS];
+        boolean[] surrenders = new boolean[StrategyTable.ROWS * StrategyTable.COLUMNS];
+        boolean[] pairSurrenders = new boolean[11 * StrategyTable.COLUMNS];
+
+        for (int upCard = 1; upCard <= 10; upCard++) {
+            if (composition[upCard] == 0) {
+                continue;
+            }
+            UpCardSolution solution = new UpCardSolution(composition, upCard, rules);
+            solution.fill(startingActions, actions, splits);
+            if (rules.isLateSurrender()) {
+                solution.fillSurrenders(surrenders, pairSurrenders, splits);
+            }
+        }
+
+        return new StrategyTable(startingActions, actions, splits, surrenders, pairSurrenders,
+            takeInsurance(composition));
+    }
+
+    // Insurance pays 2:1, so it is worth taking when more than a third of the
+    // cards behind the dealer's ace are tens.
+    private static boolean takeInsurance(int[] composition) {
+        int cardCount = -1;
+        for (int value = 1; value <= 10; value++) {
+            cardCount += composition[value];
+        }
+        return 3 * composition[10] > cardCount;
+    }
+
+    // Expected values of every play against one up card.
+    private static final class UpCardSolution {
+        // Surrendering gives up half the bet.
+        private static final double SURRENDER_VALUE = -0.5;
+
+        private int upCard;
+        private TableRules rules;
+        private double[] drawProbabilities;
+        private double[] standValues;
+        // Indexed by hard value + 32 if the hand holds an ace.
+        private double[] hitValues;
+        private double[] bestValues;
+        private double[] doubleValues;
+
+        UpCardSolution(int[] composition, int upCard, TableRules rules) {
+            this.upCard = upCard;
+            this.rules = rules;
+
+            // The up card is out of the shoe.
+            int cardCount = -1;
+            for (int value = 1; value <= 10; value++) {
+                cardCount += composition[value];
+            }
+            drawProbabilities = new double[11];
+            for (int value = 1; value <= 10; value++) {
+                int remaining = composition[value] - (value == upCard ? 1 : 0);
+                drawProbabilities[value] = (double)remaining / cardCount;
+            }
+
+            double[] dealerOutcomes = DealerProbabilities.withoutBlackjack(
+                DealerProbabilities.outcomesWithReplacement(drawProbabilities, upCard,
+                    rules.getDealerRule()));
+
+            standValues = new double[22];
+            for (int total = 4; total <= 21; total++) {
+                double value = dealerOutcomes[DealerProbabilities.BUST];
+                for (int dealerTotal = 17; dealerTotal <= 21; dealerTotal++) {
+                    double p = dealerOutcomes[DealerProbabilities.FINAL_17 + dealerTotal - 17];
+                    if (total > dealerTotal) {
+                        value += p;
+                    }
+                    else if (total < dealerTotal) {
+                        value -= p;
+                    }
+                }
+                standValues[total] = value;
+            }
+
+            // Drawing only raises the hard value, so fill from 21 down.
+            hitValues = new double[StrategyTable.ROWS];
+            bestValues = new double[StrategyTable.ROWS];
+            doubleValues = new double[StrategyTable.ROWS];
+            for (int hardValue = 21; hardValue >= 2; hardValue--) {
+                for (int ace = 0; ace <= 1; ace++) {
+                    boolean hasAce = ace == 1;
+                    double hit = 0.0;
+                    double doubleDown = 0.0;
+                    for (int card = 1; card <= 10; card++) {
+                        int newHardValue = hardValue + card;
+                        if (newHardValue > 21) {
+                            hit -= drawProbabilities[card];
+                            doubleDown -= drawProbabilities[card];
+                        }
+                        else {
+                            boolean newHasAce = hasAce || card == 1;
+                            hit += drawProbabilities[card] * bestValues[row(newHardValue, newHasAce)];
+                            doubleDown += drawProbabilities[card] * stand(newHardValue, newHasAce);
+                        }
+                    }
+                    int row = row(hardValue, hasAce);
+                    hitValues[row] = hit;
+                    bestValues[row] = Math.max(stand(hardValue, hasAce), hit);
+                    doubleValues[row] = 2.0 * doubleDown;
+                }
+            }
+        }
+
+        void fill(byte[] startingActions, byte[] actions, boolean[] splits) {
+            for (int hardValue = 2; hardValue <= 21; hardValue++) {
+                for (int ace = 0; ace <= 1; ace++) {
+                    boolean hasAce = ace == 1;
+                    int i = StrategyTable.index(hardValue, hasAce, upCard);
+                    int row = row(hardValue, hasAce);
+                    double stand = stand(hardValue, hasAce);
+                    double hit = hitValues[row];
+                    double doubleDown = doubleValues[row];
+
+                    actions[i] = hit > stand ? StrategyTable.HIT : StrategyTable.STAY;
+                    if (doubleDown > Math.max(stand, hit)) {
+                        startingActions[i] = StrategyTable.DOUBLE_DOWN;
+                    }
+                    else {
+                        startingActions[i] = actions[i];
+                    }
+                }
+            }
+
+            if (rules.getMaxHands() < 2) {
+                return;
+            }
+            for (int pairValue = 1; pairValue <= 10; pairValue++) {
+                double noSplit = startingValue(2 * pairValue, pairValue == 1);
+                splits[pairValue * StrategyTable.COLUMNS + upCard] = split(pairValue) > noSplit;
+            }
+        }
+
+        // Surrender when every way of playing the starting hand, splitting a
+        // pair included, is expected to lose more than half the bet.
+        void fillSurrenders(boolean[] surrenders, boolean[] pairSurrenders, boolean[] splits) {
+            for (int hardValue = 4; hardValue <= 20; hardValue++) {
+                for (int ace = 0; ace <= 1; ace++) {
+                    boolean hasAce = ace == 1;
+                    surrenders[StrategyTable.index(hardValue, hasAce, upCard)] =
+                        SURRENDER_VALUE > startingValue(hardValue, hasAce);
+                }
+            }
+
+            for (int pairValue = 1; pairValue <= 10; pairValue++) {
+                int i = pairValue * StrategyTable.COLUMNS + upCard;
+                double best = splits[i] ? split(pairValue) : startingValue(2 * pairValue, pairValue == 1);
+                pairSurrenders[i] = SURRENDER_VALUE > best;
+            }
+        }
+
+        // Both hands start with one of the pair and draw one card. Split aces
+        // get no more cards, other split hands play like any starting hand,
+        // doubling down only if the table allows it after a split.
+        private double split(int pairValue) {
+            double value = 0.0;
+            for (int card = 1; card <= 10; card++) {
+                int hardValue = pairValue + card;
+                boolean hasAce = pairValue == 1 || card == 1;
+                double handValue;
+                if (pairValue == 1) {
+                    handValue = stand(hardValue, hasAce);
+                }
+                else if (rules.isDoubleAfterSplit()) {
+                    handValue = startingValue(hardValue, hasAce);
+                }
+                else {
+                    handValue = bestValues[row(hardValue, hasAce)];
+                }
+                value += drawProbabilities[card] * handValue;
+            }
+            return 2.0 * value;
+        }
+
+        private double startingValue(int hardValue, boolean hasAce) {
+            int row = row(hardValue, hasAce);
+            return Math.max(bestValues[row], doubleValues[row]);
+        }
+
+        private double stand(int hardValue, boolean hasAce) {
+            int softValue = hasAce && hardValue + 10 <= 21 ? hardValue + 10 : hardValue;
+            return standValues[Math.max(softValue, 4)];
+        }
+
+        private static int row(int hardValue, boolean hasAce) {
+            return (hasAce ? 32 : 0) + hardValue;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package blackjack;
+
+// A solved strategy stored as compact byte tables, one entry per hand state
+// and dealer up card. Rows are indexed by hard value plus 32 when the hand
+// holds an ace, columns by the up card value 1 (ace) to 10. Once built a
+// table never changes, so it can be shared between threads, and it answers
+// whole batches of decisions straight from the hand states.
+public final class StrategyTable implements PlayerStrategy, BatchPlayerStrategy {
+    static final byte STAY = 0;
+    static final byte HIT = 1;
+    static final byte DOUBLE_DOWN = 2;
+
+    static final int ROWS = 64;
+    static final int COLUMNS = 11;
+
+    private static final HandOption[] OPTIONS = { HandOption.STAY, HandOption.HIT, HandOption.DOUBLE_DOWN };
+
+    // Best play on two cards, when doubling down is allowed, and on more cards.
+    private byte[] startingActions;
+    private byte[] actions;
+    // Indexed by pair value * COLUMNS + up card.
+    private boolean[] splits;
+    // Late surrender on two cards, pairs kept apart since they can be split.
+    private boolean[] surrenders;
+    private boolean[] pairSurrenders;
+    private boolean takeInsurance;
+
+    StrategyTable(byte[] startingActions, byte[] actions, boolean[] splits, boolean[] surrenders,
+        boolean[] pairSurrenders, boolean takeInsurance) {
+        this.startingActions = startingActions;
+        this.actions = actions;
+        this.splits = splits;
+        this.surrenders = surrenders;
+        this.pairSurrenders = pairSurrenders;
+        this.takeInsurance = takeInsurance;
+    }
+
+    static int index(int hardValue, boolean hasAce, int upCard) {
+        return ((hasAce ? 32 : 0) + hardValue) * COLUMNS + upCard;
+    }
+
+    public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+        return takeInsurance;
+    }
+
+    public boolean surrender(Hand playerHand, Card dealerUpCard) {
+        int upCard = dealerUpCard.getValue();
+        if (playerHand.isPair()) {
+            return pairSurrenders[playerHand.getFirstCard().getValue() * COLUMNS + upCard];
+        }
+        int state = playerHand.getState();
+        return surrenders[index(HandState.hardValue(state), HandState.hasAce(state), upCard)];
+    }
+
+    public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+        return splits[playerHand.getFirstCard().getValue() * COLUMNS + dealerUpCard.getValue()];
+    }
+
+    public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown) {
+        int state = playerHand.getState();
+        int i = index(HandState.hardValue(state), HandState.hasAce(state), dealerUpCard.getValue());
+        return OPTIONS[allowDoubleDown ? startingActions[i] : actions[i]];
+    }
+
+    public void decide(DecisionBatch batch) {
+        for (int slot = 0; slot < batch.size(); slot++) {
+            int state = batch.getHandState(slot);
+            int upCard = batch.getUpCard(slot);
+            int pairIndex = HandState.firstValue(state) * COLUMNS + upCard;
+            int i = index(HandState.hardValue(state), HandState.hasAce(state), upCard);
+            switch (batch.getKind(slot)) {
+                case INSURANCE:
+                    batch.setAnswer(slot, takeInsurance);
+                    break;
+                case SURRENDER:
+                    batch.setAnswer(slot, HandState.isPair(state) ? pairSurrenders[pairIndex] : surrenders[i]);
+                    break;
+                case SPLIT:
+                    batch.setAnswer(slot, splits[pairIndex]);
+                    break;
+                case HAND_OPTION:
+                    batch.setHandOption(slot,
+                        OPTIONS[batch.isDoubleDownAllowed(slot) ? startingActions[i] : actions[i]]);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package blackjack;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+// Simulates every cell of a grid of decks, penetration, blackjack payout,
+// strategy, betting and bet spread, and prints one table of the results.
+// Every cell is cut into the same shards as ParallelSimulator and all shards
+// of all cells go to one work-stealing pool, so a few slow cells cannot
+// leave threads idle. Each cell deals from the sweep's seed, so it gives the
+// same result as ParallelSimulator with that seed, and cells that differ
+// only in strategy or betting start from the same shoes.
+//
+// Finished cells are appended to a checkpoint file as they come in. Running
+// the same sweep on the same file again skips them, so an interrupted sweep
+// picks up where it stopped. Strategy tables are solved once per set of
+// rules and shared by every shard that plays them.
+public final class Sweep {
+    private static final long DEFAULT_ROUNDS = 10000000L;
+    private static final String HEADER_PREFIX = "# sweep";
+    private static final int FIELD_COUNT = 7;
+
+    private ForkJoinPool pool;
+    private RandomAlgorithm algorithm;
+    private List<Cell> cells;
+    // Solved for a full shoe, by the rules' toString().
+    private Map<String, StrategyTable> strategyTables;
+
+    public Sweep(int threadCount, RandomAlgorithm algorithm) {
+        assert threadCount >= 1;
+        this.pool = new ForkJoinPool(threadCount);
+        this.algorithm = algorithm;
+        this.cells = new ArrayList<Cell>();
+        this.strategyTables = new ConcurrentHashMap<String, StrategyTable>();
+    }
+
+    public static void main(String[] args) throws IOException {
+        TableRules rules = TableRules.fromArgs(args);
+        RandomAlgorithm algorithm = RandomAlgorithm.fromArgs(args);
+        String[] decks = list(args, "decks", Integer.toString(rules.getDeckCount()));
+        String[] penetrations = list(args, "penetration", Double.toString(Shoe.DEFAULT_PENETRATION));
+        String[] payouts = list(args, "payout", rules.getBlackjackPayout().toString());
+        String[] strategies = list(args, "strategy", "basic");
+        String[] bettings = list(args, "betting", "flat");
+        String[] spreads = list(args, "spread", Integer.toString(Simulator.DEFAULT_MAX_UNITS));
+        args = Options.positional(args);
+        if (args.length < 1) {
+            System.err.println("Usage: Sweep <checkpoint> [<rounds per cell> [<seed> [<threads>]]]");
+            System.err.println("    [--decks=<n>,...] [--penetration=<p>,...] [--payout=<payout>,...] [--strategy=<name>,...]");
+            System.err.println("    [--betting=<name>,...] [--spread=<units>,...] [--rules=<rules>] [--rng=<algorithm>]");
+            System.exit(1);
+        }
+
+        Path checkpoint = Paths.get(args[0]);
+        long rounds = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_ROUNDS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        int threadCount = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        Sweep sweep = new Sweep(threadCount, algorithm);
+        for (String deckCount : decks) {
+            for (String payout : payouts) {
+                TableRules cellRules = rules.withDeckCount(Integer.parseInt(deckCount))
+                    .withBlackjackPayout(TableRules.parse(payout).getBlackjackPayout());
+                for (String penetration : penetrations) {
+                    for (String strategy : strategies) {
+                        for (String betting : bettings) {
+                            // A flat bet has no spread to vary.
+                            String[] cellSpreads = betting.equals("flat") ? new String[] { spreads[0] } : spreads;
+                            for (String spread : cellSpreads) {
+                                sweep.addCell(cellRules, Double.parseDouble(penetration), strategy, betting,
+                                    Integer.parseInt(spread));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        try {
+            System.out.printf("Seed %d (%s), %d threads, %,d rounds per cell%n", seed, algorithm, threadCount, rounds);
+            System.out.print(sweep.run(checkpoint, rounds, seed));
+        }
+        finally {
+            sweep.shutdown();
+        }
+    }
+
+    // The comma separated values of an option, or the default alone.
+    private static String[] list(String[] args, String name, String defaultValue) {
+        String value = Options.get(args, name);
+        return (value == null ? defaultValue : value).split(",");
+    }
+
+    public void addCell(TableRules rules, double penetration, String strategy, String betting, int spread) {
+        cells.add(new Cell(rules, penetration, strategy, betting, spread));
+    }
+
+    // Play every cell not in the checkpoint yet and return the table of all
+    // of them. The checkpoint must come from a sweep with the same rounds,
+    // seed and random algorithm.
+    public String run(Path checkpoint, long rounds, long seed) throws IOException {
+        String header = String.format("%s rounds=%d seed=%d rng=%s", HEADER_PREFIX, rounds, seed, algorithm);
+        Map<String, String[]> rows = readCheckpoint(checkpoint, header);
+
+        BufferedWriter writer = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        try {
+            if (Files.size(checkpoint) == 0) {
+                writer.write(header);
+                writer.newLine();
+                writer.flush();
+            }
+            else if (!endsWithNewline(checkpoint)) {
+                // Finish the line cut short, so the next row starts on its own.
+                writer.newLine();
+                writer.flush();
+            }
+
+            // Picked before any shard runs, since finished cells add to rows.
+            List<Cell> pending = new ArrayList<Cell>();
+            for (Cell cell : cells) {
+                if (!rows.containsKey(cell.key())) {
+                    pending.add(cell);
+                }
+            }
+            System.out.printf("%d cells, %d already done%n", cells.size(), cells.size() - pending.size());
+
+            List<Future<?>> shards = new ArrayList<Future<?>>();
+            for (Cell cell : pending) {
+                cell.submit(rounds, seed, writer, rows, shards);
+            }
+
+            for (Future<?> shard : shards) {
+                shard.get();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sweep interrupted.", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Sweep failed.", e.getCause());
+        }
+        finally {
+            writer.close();
+        }
+
+        return format(rows);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Rows of the cells already done, by key. A last line cut short by an
+    // interruption is skipped, so that cell runs again.
+    private static Map<String, String[]> readCheckpoint(Path checkpoint, String header) throws IOException {
+        Map<String, String[]> rows = new HashMap<String, String[]>();
+        if (!Files.exists(checkpoint) || Files.size(checkpoint) == 0) {
+            return rows;
+        }
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        if (!lines.get(0).equals(header)) {
+            throw new IllegalArgumentException("The checkpoint " + checkpoint + " is from another sweep: "
+                + lines.get(0));
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split("\t");
+            if (fields.length == FIELD_COUNT) {
+                rows.put(fields[0], fields);
+            }
+        }
+        return rows;
+    }
+
+    private static boolean endsWithNewline(Path checkpoint) throws IOException {
+        FileChannel channel = FileChannel.open(checkpoint, StandardOpenOption.READ);
+        try {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) == '\n';
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    // Play EV is the mean result per chip of each round's bet, so it rates
+    // the playing strategy alone; EV per bet and net per round include the
+    // betting.
+    private String format(Map<String, String[]> rows) {
+        StringBuilder str = new StringBuilder(String.format("%-5s %-5s %-5s %-12s %-9s %-6s %14s %10s %9s %10s %10s%n",
+            "decks", "pen", "pays", "strategy", "betting", "spread", "rounds", "play EV", "+/- 95%", "EV/bet",
+            "net/round"));
+        for (Cell cell : cells) {
+            String[] fields = rows.get(cell.key());
+            long rounds = Long.parseLong(fields[1]);
+            long totalBet = Long.parseLong(fields[3]);
+            double netResult = Double.parseDouble(fields[4]);
+            str.append(String.format("%-5d %-5.2f %-5s %-12s %-9s %-6s %,14d %+9.3f%% %8.3f%% %+9.3f%% %+10.4f%n",
+                cell.rules.getDeckCount(), cell.penetration, cell.rules.getBlackjackPayout(), cell.strategy,
+                cell.betting, cell.betting.equals("flat") ? "-" : "1-" + cell.spread, rounds,
+                100 * Double.parseDouble(fields[5]), 100 * Double.parseDouble(fields[6]),
+                100 * netResult / totalBet, netResult / rounds));
+        }
+        return str.toString();
+    }
+
+    // "table" plays the strategy table solved for a full shoe under the
+    // cell's rules, shared by every shard; other names are Simulator's. The
+    // shoe must not be dealt from yet.
+    private PlayerStrategy newStrategy(String name, final Shoe shoe, final TableRules rules) {
+        if (name.equals("table")) {
+            return strategyTables.computeIfAbsent(rules.toString(),
+                key -> StrategySolver.solve(shoe.getComposition(), rules));
+        }
+        return Simulator.newStrategy(name, shoe, rules);
+    }
+
+    // A point of the grid. Its shards fill in their results as they finish,
+    // and the last one merges them in order and checkpoints the cell.
+    private final class Cell {
+        private TableRules rules;
+        private double penetration;
+        private String strategy;
+        private String betting;
+        private int spread;
+        private SimulationResult[] results;
+        private AtomicInteger remaining;
+
+        Cell(TableRules rules, double penetration, String strategy, String betting, int spread) {
+            this.rules = rules;
+            this.penetration = penetration;
+            this.strategy = strategy;
+            this.betting = betting;
+            this.spread = spread;
+        }
+
+        String key() {
+            return String.format("%s pen=%s %s %s 1-%d", rules, penetration, strategy, betting, spread);
+        }
+
+        void submit(long rounds, long seed, final BufferedWriter writer, final Map<String, String[]> rows,
+            List<Future<?>> shards) {
+            final int shardCount = ParallelSimulator.SHARD_COUNT;
+            results = new SimulationResult[shardCount];
+            remaining = new AtomicInteger(shardCount);
+            RandomStreams streams = new RandomStreams(algorithm, seed);
+            for (int i = 0; i < shardCount; i++) {
+                final int shard = i;
+                // Spread the remainder over the first shards.
+                final long shardRounds = rounds / shardCount + (i < rounds % shardCount ? 1 : 0);
+                final RandomGenerator randomizer = streams.next();
+                shards.add(pool.submit(new Runnable() {
+                    public void run() {
+                        Shoe shoe = new Shoe(rules.getDeckCount(), penetration, randomizer);
+                        Simulator simulator = new Simulator(shoe, newStrategy(strategy, shoe, rules),
+                            Simulator.newBetPolicy(betting, shoe, spread), rules);
+                        results[shard] = simulator.run(shardRounds);
+                        if (remaining.decrementAndGet() == 0) {
+                            finish(writer, rows);
+                        }
+                    }
+                }));
+            }
+        }
+
+        private void finish(BufferedWriter writer, Map<String, String[]> rows) {
+            SimulationResult result = new SimulationResult(0, 0, 0, 0, 0, new HandStatistics());
+            for (SimulationResult shardResult : results) {
+                result = result.merge(shardResult);
+            }
+            results = null;
+            RunningStatistics roundStatistics = result.getStatistics().getRounds();
+            String[] fields = { key(), Long.toString(result.getRoundsPlayed()),
+                Long.toString(result.getHandsPlayed()), Long.toString(result.getTotalBet()),
+                Double.toString(result.getNetResult()), Double.toString(roundStatistics.getMean()),
+                Double.toString(roundStatistics.getConfidenceHalfWidth(RunningStatistics.Z_95)) };
+
+            synchronized (Sweep.this) {
+                rows.put(fields[0], fields);
+                try {
+                    writer.write(String.join("\t", fields));
+                    writer.newLine();
+                    writer.flush();
+                }
+                catch (IOException e) {
+                    throw new IllegalStateException("Cannot write the checkpoint.", e);
+                }
+                System.out.printf("%s: EV %+.3f%% per bet%n", fields[0], 100 * result.getExpectedValue());
+            }
+        }
+    }
+}
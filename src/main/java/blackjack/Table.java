@@ -0,0 +1,356 @@
+package blackjack;
+
+// Plays out rounds of blackjack from a shoe. The table only knows the rules;
+// decisions come from a PlayerStrategy and everything that happens is reported
+// to a TableListener, so the same rules drive the console game and simulations.
+public final class Table {
+    private CardSource shoe;
+    private PlayerStrategy player;
+    private TableListener listener;
+
+    // The rules, with the parts the hot path needs picked out once: the
+    // dealer rule and the blackjack payout's settlement are lookup tables.
+    private TableRules rules;
+    private DealerRule dealerRule;
+    private BlackjackPayout blackjackPayout;
+    private int maxHands;
+    private boolean doubleAfterSplit;
+    private boolean lateSurrender;
+
+    // Stakes are taken from the bankroll as they are placed; returns are only
+    // added up, in ledger units, and credited in one go at the end of the round.
+    private Bankroll bankroll;
+    private long staked;
+    private long returned;
+    private long handsPlayed;
+
+    // Hands are pooled and reused every round, so playing a round does not
+    // allocate. The starting hand is the first hand instance and splits take
+    // the next ones. The dealer plays one hand against all of them.
+    private Hand dealerHand;
+    private Hand playerHand;
+    private HandInstance[] hands;
+    private int handCount;
+
+    private enum IsSplitHand { TRUE, FALSE }
+
+    public Table(CardSource shoe, PlayerStrategy player, TableListener listener) {
+        this(shoe, player, listener, TableRules.DEFAULT);
+    }
+
+    public Table(CardSource shoe, PlayerStrategy player, TableListener listener, TableRules rules) {
+        assert shoe != null && player != null && listener != null && rules != null;
+        this.shoe = shoe;
+        this.player = player;
+        this.listener = listener;
+        this.rules = rules;
+        dealerRule = rules.getDealerRule();
+        blackjackPayout = rules.getBlackjackPayout();
+        maxHands = rules.getMaxHands();
+        doubleAfterSplit = rules.isDoubleAfterSplit();
+        lateSurrender = rules.isLateSurrender();
+        handsPlayed = 0;
+
+        dealerHand = new Hand();
+        playerHand = new Hand();
+        hands = new HandInstance[TableRules.MAX_HANDS];
+        hands[0] = new HandInstance(playerHand);
+        for (int i = 1; i < hands.length; i++) {
+            hands[i] = new HandInstance(new Hand());
+        }
+    }
+
+    public TableRules getRules() {
+        return rules;
+    }
+
+    // Play a single round against the bankroll and return the net result in
+    // ledger units. What is left in the bankroll limits insurance, splitting
+    // and doubling down just like the player's stack does at a real table.
+    public long playRound(int betAmount, Bankroll bankroll) {
+        assert betAmount >= 1;
+        if (!bankroll.reserve(units(betAmount))) {
+            throw new IllegalStateException("The bankroll does not cover a bet of " + betAmount + ".");
+        }
+        this.bankroll = bankroll;
+        staked = units(betAmount);
+        returned = 0;
+
+        dealerHand.clear();
+        playerHand.clear();
+        dealStartingHands(dealerHand, playerHand);
+        listener.roundDealt(dealerHand, playerHand);
+
+        Card dealerUpCard = dealerHand.getFirstCard();
+
+        if (allowInsurance(dealerHand, betAmount)) {
+            if (!player.takeInsurance(playerHand, dealerUpCard)) {
+                listener.insuranceDeclined();
+            }
+            else if (placeStake(units(betAmount) / 2)) {
+                playInsuranceBet(dealerHand, betAmount);
+            }
+        }
+
+        if (allowSurrender(dealerHand, playerHand) && player.surrender(playerHand, dealerUpCard)) {
+            surrenderHand(dealerHand, playerHand, betAmount);
+        }
+        else if (allowSplitting(dealerHand, playerHand, betAmount)
+            && offerSplit(playerHand, dealerUpCard)
+            && placeStake(units(betAmount))) {
+            playSplitHands(dealerHand, playerHand, betAmount);
+        }
+        else {
+            playSingleHand(dealerHand, playerHand, betAmount);
+        }
+
+        // Settle every hand and the insurance at once.
+        bankroll.settle(staked, returned);
+        listener.roundSettled(betAmount, returned - staked);
+
+        shoe.endRound();
+        return returned - staked;
+    }
+
+    // Number of player hands settled so far, counting each split hand.
+    public long getHandsPlayed() {
+        return handsPlayed;
+    }
+
+    private static long units(int chips) {
+        return (long)Bankroll.UNITS_PER_CHIP * chips;
+    }
+
+    private void dealStartingHands(Hand dealerHand, Hand playerHand) {
+        shoe.startRound();
+
+        playerHand.addCard(shoe.dealNextCardIndex());
+        dealerHand.addCard(shoe.dealNextCardIndex());
+        playerHand.addCard(shoe.dealNextCardIndex());
+        dealerHand.addCard(shoe.dealNextCardIndex());
+    }
+
+    // The insurance bet is half the bet.
+    private void playInsuranceBet(Hand dealerHand, int betAmount) {
+        // Insurance pays 2:1.
+        if (dealerHand.isBlackjack()) {
+            returned += 3 * units(betAmount) / 2;
+        }
+        listener.insuranceSettled(dealerHand.isBlackjack());
+    }
+
+    private boolean allowInsurance(Hand dealerHand, int betAmount) {
+        // Make sure player has enough money to make the insurance bet.
+        return dealerHand.getFirstCard().isAce() && bankroll.covers(units(betAmount) / 2);
+    }
+
+    // Late surrender: only once the dealer has checked for blackjack.
+    private boolean allowSurrender(Hand dealerHand, Hand playerHand) {
+        return lateSurrender && !dealerHand.isBlackjack() && !playerHand.isBlackjack();
+    }
+
+    private void surrenderHand(Hand dealerHand, Hand playerHand, int betAmount) {
+        handsPlayed++;
+        returned += units(betAmount) / 2;
+        listener.handSettled(Outcome.PLAYER_SURRENDERED, dealerHand, playerHand);
+    }
+
+    private void playSingleHand(Hand dealerHand, Hand playerHand, int betAmount) {
+        handCount = 1;
+        hands[0].deal(betAmount);
+        hands[0].play(IsSplitHand.FALSE);
+        settleStandingHands();
+    }
+
+    // Split hands are not eligible for blackjack and split aces are neither
+    // drawn to nor split again. Each hand gets its second card when its turn
+    // comes and may be split again, up to the table's limit of hands.
+    private void playSplitHands(Hand dealerHand, Hand playerHand, int betAmount) {
+        Card dealerUpCard = dealerHand.getFirstCard();
+
+        handCount = 1;
+        splitHand(playerHand);
+
+        for (int i = 0; i < handCount; i++) {
+            Hand hand = hands[i].playerHand;
+            hand.addCard(shoe.dealNextCardIndex());
+            listener.splitHandDealt(i + 1, dealerHand, hand);
+
+            while (handCount < maxHands && hand.isPair() && !hand.getFirstCard().isAce()
+                && bankroll.covers(units(betAmount)) && offerSplit(hand, dealerUpCard)
+                && placeStake(units(betAmount))) {
+                splitHand(hand);
+                hand.addCard(shoe.dealNextCardIndex());
+                listener.splitHandDealt(i + 1, dealerHand, hand);
+            }
+
+            hands[i].deal(betAmount);
+            hands[i].play(IsSplitHand.TRUE);
+        }
+
+        settleStandingHands();
+    }
+
+    // Ask the player whether to split a pair the table allows splitting, and
+    // tell the listener when they keep it.
+    private boolean offerSplit(Hand hand, Card dealerUpCard) {
+        boolean split = player.splitPair(hand, dealerUpCard);
+        if (!split) {
+            listener.splitDeclined();
+        }
+        return split;
+    }
+
+    // Move the second card of a pair to the next hand in the pool.
+    private void splitHand(Hand hand) {
+        Hand newHand = hands[handCount++].playerHand;
+        newHand.clear();
+        newHand.addCard(hand.getCardIndex(1));
+        int firstCard = hand.getCardIndex(0);
+        hand.clear();
+        hand.addCard(firstCard);
+        listener.handSplit();
+    }
+
+    // Once every player hand is done the dealer plays out one hand, if any
+    // hand is still standing, and the standing hands are settled against it
+    // in order.
+    private void settleStandingHands() {
+        boolean anyStanding = false;
+        for (int i = 0; i < handCount; i++) {
+            anyStanding |= !hands[i].settled;
+        }
+        if (!anyStanding) {
+            return;
+        }
+
+        playDealerHand();
+        int dealerCode = Settlement.code(dealerHand.getState(), true);
+        for (int i = 0; i < handCount; i++) {
+            if (!hands[i].settled) {
+                hands[i].settle(dealerCode);
+            }
+        }
+    }
+
+    private void playDealerHand() {
+        // Deal out cards until the dealer stands or busts.
+        while (!dealerRule.stops(dealerHand.getState())) {
+            dealerHand.addCard(shoe.dealNextCardIndex());
+        }
+    }
+
+    private boolean allowSplitting(Hand dealerHand, Hand playerHand, int betAmount) {
+        return maxHands > 1 && playerHand.isPair() && !dealerHand.isBlackjack()
+            && bankroll.covers(units(betAmount));
+    }
+
+    // Another table sharing the bankroll may have taken the chips since they
+    // were checked, in which case the stake is refused.
+    private boolean placeStake(long amount) {
+        if (!bankroll.reserve(amount)) {
+            return false;
+        }
+        staked += amount;
+        return true;
+    }
+
+    // Inner class that implements the logic of playing out a single hand
+    // instance against the table's dealer hand.
+    private final class HandInstance {
+        private Hand playerHand;
+        int betAmount;
+        boolean isSplitHand;
+        // False while the hand stands waiting for the dealer to play.
+        boolean settled;
+
+        HandInstance(Hand playerHand) {
+            this.playerHand = playerHand;
+        }
+
+        public void deal(int startingBetAmount) {
+            betAmount = startingBetAmount;
+            isSplitHand = false;
+            settled = false;
+        }
+
+        // Play a single hand up to the point the dealer has to play. A pair
+        // hand the player wanted to split should already be split before
+        // calling this function.
+        public void play(IsSplitHand isSplitHand) {
+            this.isSplitHand = (isSplitHand == IsSplitHand.TRUE);
+            handsPlayed++;
+
+            if (dealerHand.isBlackjack() || (playerHand.isBlackjack() && !this.isSplitHand)) {
+                // Settled at once; the dealer's hand only matters if it is a
+                // blackjack.
+                settle(Settlement.code(dealerHand.getState(), true));
+                return;
+            }
+
+            // Not allowed to take additional cards if this is a hand that was split from aces.
+            if (!this.isSplitHand || (this.isSplitHand && !playerHand.getFirstCard().isAce())) {
+                playPlayerHand();
+            }
+
+            if (playerHand.isBusted()) {
+                settle(Settlement.code(dealerHand.getState(), true));
+            }
+        }
+
+        // One lookup gives the outcome and the return, whether the hand is a
+        // blackjack, busted or standing against the dealer's final hand.
+        void settle(int dealerCode) {
+            settled = true;
+            int entry = blackjackPayout.settle(Settlement.code(playerHand.getState(), !isSplitHand),
+                dealerCode);
+            returned += (long)betAmount * Settlement.returnUnits(entry);
+            listener.handSettled(Settlement.outcome(entry), dealerHand, playerHand);
+        }
+
+        private void playPlayerHand() {
+            // Deal out player hand until a stay or bust. This function is called
+            // when there is no blackjack for the dealer or player.
+            assert !dealerHand.isBlackjack();
+            assert !playerHand.isBlackjack() || isSplitHand;
+
+            Card dealerUpCard = dealerHand.getFirstCard();
+
+            while (true) {
+                // Doubling down is only offered on the starting hand, and on
+                // split hands only if the table allows it.
+                boolean allowDoubleDown = playerHand.isStartingHand()
+                    && (!isSplitHand || doubleAfterSplit);
+                HandOption handOption = player.chooseHandOption(playerHand, dealerUpCard,
+                    allowDoubleDown);
+
+                if (handOption == HandOption.STAY) {
+                    listener.playerActed(handOption, dealerHand, playerHand);
+                    return;
+                }
+                else if (handOption == HandOption.DOUBLE_DOWN) {
+                    assert allowDoubleDown : "Doubled down when the rules do not allow it.";
+                    // Double for less if the bankroll does not cover the full amount.
+                    int extraChips = bankroll.reserveChips(betAmount);
+                    staked += units(extraChips);
+                    betAmount += extraChips;
+
+                    playerHand.addCard(shoe.dealNextCardIndex());
+                    listener.playerActed(handOption, dealerHand, playerHand);
+                    return;
+                }
+                else if (handOption == HandOption.HIT) {
+                    playerHand.addCard(shoe.dealNextCardIndex());
+                    listener.playerActed(handOption, dealerHand, playerHand);
+
+                    if (playerHand.isBusted()) {
+                        return;
+                    }
+                }
+                else {
+                    assert false : "Allowed an invalid hand option.";
+                }
+            }
+        }
+    }
+}
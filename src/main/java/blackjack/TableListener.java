@@ -0,0 +1,29 @@
+package blackjack;
+
+// Receives the events of a round as the table plays it out. All methods do
+// nothing by default so headless runs can ignore the events they don't need.
+public interface TableListener {
+    default void roundDealt(Hand dealerHand, Hand playerHand) {}
+
+    default void insuranceSettled(boolean dealerHasBlackjack) {}
+
+    // The player was offered insurance and turned it down.
+    default void insuranceDeclined() {}
+
+    default void handSplit() {}
+
+    // The player was offered a split, of the starting pair or of a split
+    // hand, and kept the pair.
+    default void splitDeclined() {}
+
+    // handNumber counts the split hands from 1, up to TableRules.MAX_HANDS.
+    default void splitHandDealt(int handNumber, Hand dealerHand, Hand playerHand) {}
+
+    default void playerActed(HandOption handOption, Hand dealerHand, Hand playerHand) {}
+
+    default void handSettled(Outcome outcome, Hand dealerHand, Hand playerHand) {}
+
+    // Called once every hand and the insurance are settled. The net result is
+    // in ledger units, as returned by Table.playRound.
+    default void roundSettled(int betAmount, long netResult) {}
+}
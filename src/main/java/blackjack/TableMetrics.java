@@ -0,0 +1,336 @@
+package blackjack;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Live counters and latency histograms for any number of tables at once,
+// e.g. every session of a server or every shard of a simulation. Each table
+// records through its own listener from newRecorder(); the totals are
+// LongAdders, which stripe their cells under contention, so tables on many
+// threads never fight over one counter. The totals can be read at any time,
+// over JMX once registered, or printed now and then by a MetricsDumper.
+public final class TableMetrics implements TableMetricsMBean {
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final HandOption[] HAND_OPTIONS = HandOption.values();
+
+    private LongAdder roundsPlayed;
+    private LongAdder handsDealt;
+    private LongAdder splits;
+    private LongAdder insuranceTaken;
+    private LongAdder insuranceWon;
+    private LongAdder[] decisions;
+    private LongAdder[] outcomes;
+    // Chip flow in ledger units.
+    private LongAdder unitsWagered;
+    private LongAdder unitsWon;
+    private LongAdder unitsLost;
+
+    private LatencyHistogram decisionLatency;
+    private LatencyHistogram roundLatency;
+
+    public TableMetrics() {
+        roundsPlayed = new LongAdder();
+        handsDealt = new LongAdder();
+        splits = new LongAdder();
+        insuranceTaken = new LongAdder();
+        insuranceWon = new LongAdder();
+        decisions = newAdders(HAND_OPTIONS.length);
+        outcomes = newAdders(OUTCOMES.length);
+        unitsWagered = new LongAdder();
+        unitsWon = new LongAdder();
+        unitsLost = new LongAdder();
+        decisionLatency = new LatencyHistogram();
+        roundLatency = new LatencyHistogram();
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // A listener that records one table's events here. Every round is
+    // counted, but the counts reach the totals once every sampleInterval
+    // rounds, and only one round in sampleInterval is timed, as reading the
+    // clock costs more than the rest of the recording. Live tables use 1 and
+    // see every round at once; simulations a few hundred.
+    public Recorder newRecorder(int sampleInterval) {
+        assert sampleInterval >= 1;
+        return new Recorder(sampleInterval);
+    }
+
+    // Show the metrics over JMX as blackjack:type=TableMetrics,name=<name>.
+    public void register(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                new ObjectName("blackjack:type=TableMetrics,name=" + ObjectName.quote(name)));
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Cannot register the table metrics.", e);
+        }
+    }
+
+    public long getRoundsPlayed() {
+        return roundsPlayed.sum();
+    }
+
+    // Starting hands plus every hand made by a split.
+    public long getHandsDealt() {
+        return handsDealt.sum();
+    }
+
+    public long getSplits() {
+        return splits.sum();
+    }
+
+    public long getInsuranceTaken() {
+        return insuranceTaken.sum();
+    }
+
+    public long getInsuranceWon() {
+        return insuranceWon.sum();
+    }
+
+    public long getDecisions(HandOption handOption) {
+        return decisions[handOption.ordinal()].sum();
+    }
+
+    public long getOutcomes(Outcome outcome) {
+        return outcomes[outcome.ordinal()].sum();
+    }
+
+    public long getBlackjacks() {
+        return getOutcomes(Outcome.PLAYER_BLACKJACK);
+    }
+
+    public long getBusts() {
+        return getOutcomes(Outcome.PLAYER_BUSTED);
+    }
+
+    public long getDealerBusts() {
+        return getOutcomes(Outcome.DEALER_BUSTED);
+    }
+
+    public long getStays() {
+        return getDecisions(HandOption.STAY);
+    }
+
+    public long getHits() {
+        return getDecisions(HandOption.HIT);
+    }
+
+    public long getDoubleDowns() {
+        return getDecisions(HandOption.DOUBLE_DOWN);
+    }
+
+    // Every stake: opening bets, splits, doubles and insurance. A double for
+    // less, when the bankroll runs short, counts as a full one.
+    public double getChipsWagered() {
+        return Bankroll.toChips(unitsWagered.sum());
+    }
+
+    // Net winnings of the rounds the player came out ahead.
+    public double getChipsWon() {
+        return Bankroll.toChips(unitsWon.sum());
+    }
+
+    // Net losses of the rounds the player came out behind.
+    public double getChipsLost() {
+        return Bankroll.toChips(unitsLost.sum());
+    }
+
+    // Time from the cards being in front of the player to each decision.
+    public LatencyHistogram getDecisionLatency() {
+        return decisionLatency;
+    }
+
+    // Time from the deal to the settlement of a round.
+    public LatencyHistogram getRoundLatency() {
+        return roundLatency;
+    }
+
+    public double getDecisionLatencyMeanMicros() {
+        return decisionLatency.getMean() / 1e3;
+    }
+
+    public double getDecisionLatencyP99Micros() {
+        return decisionLatency.getPercentile(0.99) / 1e3;
+    }
+
+    public double getRoundLatencyMeanMicros() {
+        return roundLatency.getMean() / 1e3;
+    }
+
+    public double getRoundLatencyP99Micros() {
+        return roundLatency.getPercentile(0.99) / 1e3;
+    }
+
+    // Start every count and histogram over. Rounds in play while this runs
+    // may be counted partly before and partly after.
+    public void reset() {
+        roundsPlayed.reset();
+        handsDealt.reset();
+        splits.reset();
+        insuranceTaken.reset();
+        insuranceWon.reset();
+        for (LongAdder adder : decisions) {
+            adder.reset();
+        }
+        for (LongAdder adder : outcomes) {
+            adder.reset();
+        }
+        unitsWagered.reset();
+        unitsWon.reset();
+        unitsLost.reset();
+        decisionLatency.reset();
+        roundLatency.reset();
+    }
+
+    // One line with every count, for logs.
+    public String toString() {
+        return String.format(
+            "rounds %d, hands %d, splits %d, insurance %d/%d won, blackjacks %d, busts %d, dealer busts %d; stay %d, hit %d, double %d; chips wagered %.1f, won %.1f, lost %.1f; decision %s; round %s",
+            getRoundsPlayed(), getHandsDealt(), getSplits(), getInsuranceWon(), getInsuranceTaken(),
+            getBlackjacks(), getBusts(), getDealerBusts(), getStays(), getHits(), getDoubleDowns(),
+            getChipsWagered(), getChipsWon(), getChipsLost(), decisionLatency, roundLatency);
+    }
+
+    // Records one table. Counts build up in plain fields and go into the
+    // shared totals every sampleInterval rounds, so a busy table pays for a
+    // handful of LongAdder updates per batch instead of several per round.
+    // The stakes of a round are only known once it is played out, so the
+    // recorder keeps track of the splits, doubles and insurance until the
+    // round is settled.
+    public final class Recorder implements TableListener {
+        private int sampleInterval;
+        private int roundsInBatch;
+        private boolean timed;
+        private long roundStartNanos;
+        private long lastEventNanos;
+
+        private int extraBets;
+        private boolean insured;
+
+        private long rounds;
+        private long hands;
+        private long splitCount;
+        private long insuranceTakenCount;
+        private long insuranceWonCount;
+        private long[] decisionCounts;
+        private long[] outcomeCounts;
+        private long wagered;
+        private long won;
+        private long lost;
+
+        Recorder(int sampleInterval) {
+            this.sampleInterval = sampleInterval;
+            roundsInBatch = 0;
+            decisionCounts = new long[HAND_OPTIONS.length];
+            outcomeCounts = new long[OUTCOMES.length];
+        }
+
+        public void roundDealt(Hand dealerHand, Hand playerHand) {
+            hands++;
+            extraBets = 0;
+            insured = false;
+            // The first round of every batch is timed.
+            timed = roundsInBatch == 0;
+            if (timed) {
+                roundStartNanos = System.nanoTime();
+                lastEventNanos = roundStartNanos;
+            }
+        }
+
+        public void insuranceSettled(boolean dealerHasBlackjack) {
+            insured = true;
+            insuranceTakenCount++;
+            if (dealerHasBlackjack) {
+                insuranceWonCount++;
+            }
+            if (timed) {
+                lastEventNanos = System.nanoTime();
+            }
+        }
+
+        public void handSplit() {
+            splitCount++;
+            hands++;
+            extraBets++;
+        }
+
+        public void splitHandDealt(int handNumber, Hand dealerHand, Hand playerHand) {
+            if (timed) {
+                lastEventNanos = System.nanoTime();
+            }
+        }
+
+        public void playerActed(HandOption handOption, Hand dealerHand, Hand playerHand) {
+            decisionCounts[handOption.ordinal()]++;
+            if (handOption == HandOption.DOUBLE_DOWN) {
+                extraBets++;
+            }
+            if (timed) {
+                long now = System.nanoTime();
+                decisionLatency.record(now - lastEventNanos);
+                lastEventNanos = now;
+            }
+        }
+
+        public void handSettled(Outcome outcome, Hand dealerHand, Hand playerHand) {
+            outcomeCounts[outcome.ordinal()]++;
+        }
+
+        public void roundSettled(int betAmount, long netResult) {
+            rounds++;
+            long betUnits = (long)Bankroll.UNITS_PER_CHIP * betAmount;
+            wagered += betUnits * (1 + extraBets) + (insured ? betUnits / 2 : 0);
+            if (netResult > 0) {
+                won += netResult;
+            }
+            else {
+                lost -= netResult;
+            }
+            if (timed) {
+                roundLatency.record(System.nanoTime() - roundStartNanos);
+            }
+
+            if (++roundsInBatch == sampleInterval) {
+                roundsInBatch = 0;
+                flush();
+            }
+        }
+
+        // Add what this table counted since the last flush to the totals, e.g.
+        // when the table stops playing in the middle of a batch.
+        public void flush() {
+            roundsPlayed.add(rounds);
+            handsDealt.add(hands);
+            splits.add(splitCount);
+            insuranceTaken.add(insuranceTakenCount);
+            insuranceWon.add(insuranceWonCount);
+            for (int i = 0; i < decisionCounts.length; i++) {
+                decisions[i].add(decisionCounts[i]);
+                decisionCounts[i] = 0;
+            }
+            for (int i = 0; i < outcomeCounts.length; i++) {
+                outcomes[i].add(outcomeCounts[i]);
+                outcomeCounts[i] = 0;
+            }
+            unitsWagered.add(wagered);
+            unitsWon.add(won);
+            unitsLost.add(lost);
+            rounds = 0;
+            hands = 0;
+            splitCount = 0;
+            insuranceTakenCount = 0;
+            insuranceWonCount = 0;
+            wagered = 0;
+            won = 0;
+            lost = 0;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package blackjack;
+
+// What TableMetrics shows over JMX. Chip amounts are in chips, latencies in
+// microseconds.
+public interface TableMetricsMBean {
+    long getRoundsPlayed();
+
+    long getHandsDealt();
+
+    long getSplits();
+
+    long getInsuranceTaken();
+
+    long getInsuranceWon();
+
+    long getBlackjacks();
+
+    long getBusts();
+
+    long getDealerBusts();
+
+    long getStays();
+
+    long getHits();
+
+    long getDoubleDowns();
+
+    double getChipsWagered();
+
+    double getChipsWon();
+
+    double getChipsLost();
+
+    double getDecisionLatencyMeanMicros();
+
+    double getDecisionLatencyP99Micros();
+
+    double getRoundLatencyMeanMicros();
+
+    double getRoundLatencyP99Micros();
+
+    void reset();
+}
@@ -0,0 +1,177 @@
+package blackjack;
+
+import java.util.random.RandomGenerator;
+
+// The house rules a table deals by. Rules never change once made; the with
+// methods return a copy with one rule changed. The defaults are the game's
+// own rules: the dealer stands on soft 17, blackjack pays 3:2, one split,
+// double on any two cards including after a split, and no surrender. They
+// deal from a six deck shoe, as the game has since it moved to a shoe with a
+// cut card; the original game dealt one deck, reshuffled every round.
+//
+// Rules are written on the command line as a comma separated list, for
+// example "--rules=decks=8,h17,6:5,hands=4,no-das,surrender". Anything not
+// listed keeps its default.
+public final class TableRules {
+    // Most hands a player can split into.
+    public static final int MAX_HANDS = 4;
+
+    public static final TableRules DEFAULT = new TableRules(Shoe.DEFAULT_DECK_COUNT,
+        DealerRule.STANDS_ON_SOFT_17, BlackjackPayout.THREE_TO_TWO, 2, true, false);
+
+    private int deckCount;
+    private DealerRule dealerRule;
+    private BlackjackPayout blackjackPayout;
+    // 1 means no splitting, 2 one split and so on up to MAX_HANDS.
+    private int maxHands;
+    private boolean doubleAfterSplit;
+    // Giving up half the bet on the starting hand once the dealer has checked
+    // for blackjack.
+    private boolean lateSurrender;
+
+    public TableRules(int deckCount, DealerRule dealerRule, BlackjackPayout blackjackPayout,
+        int maxHands, boolean doubleAfterSplit, boolean lateSurrender) {
+        if (deckCount < 1) {
+            throw new IllegalArgumentException("A shoe needs at least one deck.");
+        }
+        if (maxHands < 1 || maxHands > MAX_HANDS) {
+            throw new IllegalArgumentException("A player can split into at most " + MAX_HANDS + " hands.");
+        }
+        this.deckCount = deckCount;
+        this.dealerRule = dealerRule;
+        this.blackjackPayout = blackjackPayout;
+        this.maxHands = maxHands;
+        this.doubleAfterSplit = doubleAfterSplit;
+        this.lateSurrender = lateSurrender;
+    }
+
+    public static TableRules parse(String spec) {
+        TableRules rules = DEFAULT;
+        for (String rule : spec.split(",")) {
+            rule = rule.trim();
+            if (rule.isEmpty()) {
+                continue;
+            }
+            else if (rule.startsWith("decks=")) {
+                rules = rules.withDeckCount(parseCount(rule));
+            }
+            else if (rule.startsWith("hands=")) {
+                rules = rules.withMaxHands(parseCount(rule));
+            }
+            else if (rule.equals("das") || rule.equals("no-das")) {
+                rules = rules.withDoubleAfterSplit(rule.equals("das"));
+            }
+            else if (rule.equals("surrender") || rule.equals("no-surrender")) {
+                rules = rules.withLateSurrender(rule.equals("surrender"));
+            }
+            else {
+                rules = parseLabel(rules, rule);
+            }
+        }
+        return rules;
+    }
+
+    // The rules given by a --rules= option among a main's arguments.
+    static TableRules fromArgs(String[] args) {
+        String spec = Options.get(args, "rules");
+        return spec == null ? DEFAULT : parse(spec);
+    }
+
+    private static int parseCount(String rule) {
+        try {
+            return Integer.parseInt(rule.substring(rule.indexOf('=') + 1));
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad table rule: " + rule);
+        }
+    }
+
+    private static TableRules parseLabel(TableRules rules, String rule) {
+        for (DealerRule dealerRule : DealerRule.values()) {
+            if (rule.equals(dealerRule.toString())) {
+                return rules.withDealerRule(dealerRule);
+            }
+        }
+        for (BlackjackPayout payout : BlackjackPayout.values()) {
+            if (rule.equals(payout.toString())) {
+                return rules.withBlackjackPayout(payout);
+            }
+        }
+        throw new IllegalArgumentException("Unknown table rule: " + rule);
+    }
+
+    public int getDeckCount() {
+        return deckCount;
+    }
+
+    public DealerRule getDealerRule() {
+        return dealerRule;
+    }
+
+    public BlackjackPayout getBlackjackPayout() {
+        return blackjackPayout;
+    }
+
+    public int getMaxHands() {
+        return maxHands;
+    }
+
+    public boolean isDoubleAfterSplit() {
+        return doubleAfterSplit;
+    }
+
+    public boolean isLateSurrender() {
+        return lateSurrender;
+    }
+
+    public TableRules withDeckCount(int deckCount) {
+        return new TableRules(deckCount, dealerRule, blackjackPayout, maxHands, doubleAfterSplit,
+            lateSurrender);
+    }
+
+    public TableRules withDealerRule(DealerRule dealerRule) {
+        return new TableRules(deckCount, dealerRule, blackjackPayout, maxHands, doubleAfterSplit,
+            lateSurrender);
+    }
+
+    public TableRules withBlackjackPayout(BlackjackPayout blackjackPayout) {
+        return new TableRules(deckCount, dealerRule, blackjackPayout, maxHands, doubleAfterSplit,
+            lateSurrender);
+    }
+
+    public TableRules withMaxHands(int maxHands) {
+        return new TableRules(deckCount, dealerRule, blackjackPayout, maxHands, doubleAfterSplit,
+            lateSurrender);
+    }
+
+    public TableRules withDoubleAfterSplit(boolean doubleAfterSplit) {
+        return new TableRules(deckCount, dealerRule, blackjackPayout, maxHands, doubleAfterSplit,
+            lateSurrender);
+    }
+
+    public TableRules withLateSurrender(boolean lateSurrender) {
+        return new TableRules(deckCount, dealerRule, blackjackPayout, maxHands, doubleAfterSplit,
+            lateSurrender);
+    }
+
+    // A freshly shuffled shoe with this table's number of decks.
+    public Shoe newShoe(RandomGenerator randomizer) {
+        return new Shoe(deckCount, Shoe.DEFAULT_PENETRATION, randomizer);
+    }
+
+    // A shoe dealt from a shuffle tape, which must hold shoes of this table's
+    // number of decks.
+    public Shoe newShoe(ShuffleTape tape, RandomGenerator randomizer) {
+        if (tape.getDeckCount() != deckCount) {
+            throw new IllegalArgumentException("The shuffle tape holds " + tape.getDeckCount()
+                + " deck shoes but the table deals from " + deckCount + ".");
+        }
+        return new Shoe(tape, Shoe.DEFAULT_PENETRATION, randomizer);
+    }
+
+    // The same form parse() reads.
+    public String toString() {
+        return String.format("decks=%d,%s,%s,hands=%d,%s,%s", deckCount, dealerRule, blackjackPayout,
+            maxHands, doubleAfterSplit ? "das" : "no-das", lateSurrender ? "surrender" : "no-surrender");
+    }
+}
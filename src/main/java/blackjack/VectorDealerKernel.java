@@ -0,0 +1,52 @@
+package blackjack;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Plays as many lanes at once as the CPU's widest integer vectors hold, with
+// masks in place of the scalar kernel's branches. Needs the incubating
+// jdk.incubator.vector module at run time (--add-modules
+// jdk.incubator.vector); DealerBatch only loads this class when it is there.
+final class VectorDealerKernel implements DealerKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private int softThreshold;
+    private ScalarDealerKernel tail;
+
+    VectorDealerKernel(DealerRule dealerRule) {
+        softThreshold = dealerRule.hitsSoft17() ? 18 : 17;
+        tail = new ScalarDealerKernel(dealerRule);
+    }
+
+    public int draw(int[] hardValues, int[] aces, int[] done, int[] cards, int laneCount) {
+        int drawing = 0;
+        int bound = SPECIES.loopBound(laneCount);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            IntVector doneLanes = IntVector.fromArray(SPECIES, done, i);
+            VectorMask<Integer> live = doneLanes.compare(VectorOperators.EQ, 0);
+            IntVector card = IntVector.fromArray(SPECIES, cards, i);
+
+            IntVector hardValue = IntVector.fromArray(SPECIES, hardValues, i).add(card, live);
+            IntVector ace = IntVector.fromArray(SPECIES, aces, i)
+                .blend(1, card.compare(VectorOperators.EQ, 1).and(live));
+
+            VectorMask<Integer> soft = ace.compare(VectorOperators.NE, 0)
+                .and(hardValue.compare(VectorOperators.LE, 11));
+            IntVector value = hardValue.add(10, soft);
+            IntVector threshold = IntVector.broadcast(SPECIES, 17).blend(softThreshold, soft);
+            VectorMask<Integer> stops = value.compare(VectorOperators.GE, threshold);
+
+            hardValue.intoArray(hardValues, i);
+            ace.intoArray(aces, i);
+            doneLanes.blend(1, stops).intoArray(done, i);
+            drawing += live.andNot(stops).trueCount();
+        }
+        return drawing + tail.draw(hardValues, aces, done, cards, bound, laneCount);
+    }
+
+    public String toString() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+}
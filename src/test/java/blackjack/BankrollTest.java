@@ -0,0 +1,104 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+final class BankrollTest {
+    @Test
+    void reserveRefusesWhatTheBalanceDoesNotCover() {
+        Bankroll bankroll = new Bankroll(2);
+        assertFalse(bankroll.reserve(21));
+        assertEquals(20, bankroll.getUnits());
+        assertTrue(bankroll.reserve(20));
+        assertEquals(0, bankroll.getUnits());
+        assertFalse(bankroll.reserve(1));
+    }
+
+    // Doubling for less: only the whole chips left are taken.
+    @Test
+    void reserveChipsTakesWhatIsLeft() {
+        Bankroll bankroll = new Bankroll(3);
+        assertTrue(bankroll.reserve(15));
+        assertEquals(1, bankroll.reserveChips(2));
+        assertEquals(5, bankroll.getUnits());
+        assertEquals(0, bankroll.reserveChips(2));
+        assertEquals(5, bankroll.getUnits());
+    }
+
+    @Test
+    void settleCreditsTheReturns() {
+        Bankroll bankroll = new Bankroll(10);
+        assertTrue(bankroll.reserve(20));
+        bankroll.settle(20, 50);
+        assertEquals(130, bankroll.getUnits());
+        assertEquals(13.0, bankroll.getChips());
+    }
+
+    @Test
+    void unlimitedBankrollKeepsTheNet() {
+        Bankroll bankroll = Bankroll.unlimited();
+        assertTrue(bankroll.reserve(Long.MAX_VALUE));
+        assertEquals(7, bankroll.reserveChips(7));
+        bankroll.settle(90, 20);
+        assertEquals(-70, bankroll.getUnits());
+    }
+
+    // Threads reserving stakes and settling rounds against one bankroll
+    // never see it go below zero, and it ends up with exactly the sum of
+    // their results.
+    @Test
+    void concurrentRoundsNeverOverdraw() throws Exception {
+        final long startUnits = 1000;
+        final Bankroll bankroll = Bankroll.ofUnits(startUnits);
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+            for (int t = 0; t < threadCount; t++) {
+                final SplittableRandom random = new SplittableRandom(t);
+                tasks.add(new Callable<Long>() {
+                    public Long call() {
+                        long net = 0;
+                        for (int i = 0; i < 100000; i++) {
+                            long stake = 5 * (1 + random.nextInt(4));
+                            long extra = 0;
+                            if (!bankroll.reserve(stake)) {
+                                continue;
+                            }
+                            if (random.nextBoolean()) {
+                                extra = Bankroll.UNITS_PER_CHIP * bankroll.reserveChips(1 + random.nextInt(3));
+                            }
+                            assertTrue(bankroll.getUnits() >= 0);
+                            // Lose a little more often than win, so the
+                            // bankroll keeps running dry.
+                            long returned = random.nextInt(5) < 2 ? 2 * (stake + extra) : 0;
+                            bankroll.settle(stake + extra, returned);
+                            net += returned - stake - extra;
+                        }
+                        return net;
+                    }
+                });
+            }
+            long net = 0;
+            for (Future<Long> task : executor.invokeAll(tasks)) {
+                net += task.get();
+            }
+            assertEquals(startUnits + net, bankroll.getUnits());
+            assertTrue(bankroll.getUnits() >= 0);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+final class BatchSimulatorTest {
+    private static final int TABLE_COUNT = 16;
+    private static final long ROUNDS = 100003;
+    private static final long SEED = 42;
+
+    @Test
+    void sameSeedGivesTheSameResult() {
+        for (final String strategyName : new String[] { "table", "basic" }) {
+            BatchSimulator simulator = new BatchSimulator(TABLE_COUNT, TableRules.DEFAULT, RandomAlgorithm.DEFAULT,
+                shoes -> BatchSimulator.newStrategy(strategyName, shoes, TableRules.DEFAULT),
+                shoe -> new FlatBet(1));
+            assertSameResult(simulator.run(ROUNDS, SEED), simulator.run(ROUNDS, SEED));
+        }
+    }
+
+    // The batches only change the order the tables ask in, so each table
+    // plays the rounds a Simulator on the same stream would.
+    @Test
+    void matchesOneSimulatorPerTable() {
+        TableRules rules = TableRules.DEFAULT;
+        BatchSimulator batchSimulator = new BatchSimulator(TABLE_COUNT, rules, RandomAlgorithm.DEFAULT,
+            shoes -> BatchSimulator.newStrategy("basic", shoes, rules), shoe -> new FlatBet(1));
+        SimulationResult batched = batchSimulator.run(ROUNDS, SEED);
+
+        RandomStreams streams = new RandomStreams(RandomAlgorithm.DEFAULT, SEED);
+        SimulationResult expected = new SimulationResult(0, 0, 0, 0, 0, new HandStatistics());
+        for (int i = 0; i < TABLE_COUNT; i++) {
+            long tableRounds = ROUNDS / TABLE_COUNT + (i < ROUNDS % TABLE_COUNT ? 1 : 0);
+            Shoe shoe = rules.newShoe(streams.next());
+            Simulator simulator = new Simulator(shoe, new BasicStrategy(), new FlatBet(1), rules);
+            expected = expected.merge(simulator.run(tableRounds));
+        }
+        assertSameResult(expected, batched);
+        assertEquals(ROUNDS, batched.getRoundsPlayed());
+    }
+
+    private static void assertSameResult(SimulationResult expected, SimulationResult actual) {
+        assertEquals(expected.getRoundsPlayed(), actual.getRoundsPlayed());
+        assertEquals(expected.getHandsPlayed(), actual.getHandsPlayed());
+        assertEquals(expected.getTotalBet(), actual.getTotalBet());
+        assertEquals(expected.getNetResult(), actual.getNetResult());
+        for (Outcome outcome : Outcome.values()) {
+            assertEquals(expected.getStatistics().getOutcomeCount(outcome),
+                actual.getStatistics().getOutcomeCount(outcome), outcome.toString());
+        }
+    }
+}
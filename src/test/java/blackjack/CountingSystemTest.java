@@ -0,0 +1,83 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// Counts read off the shoe, checked card by card against counting the cards
+// dealt from a seeded shoe by their ranks.
+final class CountingSystemTest {
+    private static final String RANKS = "A23456789T";
+    // Tags by rank, in the order of RANKS.
+    private static final int[] HI_LO = { -1, 1, 1, 1, 1, 1, 0, 0, 0, -1 };
+    private static final int[] KO = { -1, 1, 1, 1, 1, 1, 1, 0, 0, -1 };
+    private static final int[] OMEGA_II = { 0, 1, 1, 2, 2, 2, 1, 0, -1, -2 };
+
+    @Test
+    void balance() {
+        assertTrue(CountingSystem.HI_LO.isBalanced());
+        assertFalse(CountingSystem.KO.isBalanced());
+        assertTrue(CountingSystem.OMEGA_II.isBalanced());
+    }
+
+    @Test
+    void countsFollowTheCardsDealt() {
+        for (int deckCount : new int[] { 1, 6 }) {
+            Shoe shoe = new Shoe(deckCount, 1.0, RandomAlgorithm.DEFAULT.create(5));
+            int hiLo = 0;
+            // KO starts at 4 - 4 x decks, so it ends a shoe at +4.
+            int ko = 4 - 4 * deckCount;
+            int omegaII = 0;
+            assertEquals(0, CountingSystem.HI_LO.runningCount(shoe));
+            assertEquals(ko, CountingSystem.KO.runningCount(shoe));
+            assertEquals(0.0, CountingSystem.KO.trueCount(shoe));
+            for (int dealt = 1; dealt <= deckCount * Cards.CARD_COUNT; dealt++) {
+                int rank = rank(shoe.dealNextCard());
+                hiLo += HI_LO[rank];
+                ko += KO[rank];
+                omegaII += OMEGA_II[rank];
+                String where = deckCount + " decks, card " + dealt;
+                assertEquals(hiLo, CountingSystem.HI_LO.runningCount(shoe), where);
+                assertEquals(ko, CountingSystem.KO.runningCount(shoe), where);
+                assertEquals(omegaII, CountingSystem.OMEGA_II.runningCount(shoe), where);
+
+                int remaining = deckCount * Cards.CARD_COUNT - dealt;
+                if (remaining > 0) {
+                    double decksRemaining = remaining / (double)Cards.CARD_COUNT;
+                    assertEquals(hiLo / decksRemaining, CountingSystem.HI_LO.trueCount(shoe), 1e-9, where);
+                    // KO measured against the 4 a neutral shoe gains per deck.
+                    double koExcess = ko - (4 - 4 * deckCount) - 4.0 * dealt / Cards.CARD_COUNT;
+                    assertEquals(koExcess / decksRemaining, CountingSystem.KO.trueCount(shoe), 1e-9, where);
+                }
+            }
+            assertEquals(0, hiLo);
+            assertEquals(4, ko);
+            assertEquals(0, omegaII);
+        }
+    }
+
+    // The first twelve cards of a 6 deck shoe seeded with 5, counted by
+    // hand: Hi-Lo +1 +1 0 -1 -1 0 +1 -1 -1 +1 0 -1, KO the same but +1 for
+    // the 7 and from -20, Omega II +2 +2 0 0 -2 -1 +2 -2 0 +2 +1 -2.
+    @Test
+    void knownCards() {
+        Shoe shoe = new Shoe(6, Shoe.DEFAULT_PENETRATION, RandomAlgorithm.DEFAULT.create(5));
+        StringBuilder cards = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            cards.append(RANKS.charAt(rank(shoe.dealNextCard())));
+        }
+        assertEquals("458AT96TA67T", cards.toString());
+        assertEquals(-1, CountingSystem.HI_LO.runningCount(shoe));
+        assertEquals(-20, CountingSystem.KO.runningCount(shoe));
+        assertEquals(2, CountingSystem.OMEGA_II.runningCount(shoe));
+        // 300 cards, 5.77 decks, are left.
+        assertEquals(-52.0 / 300, CountingSystem.HI_LO.trueCount(shoe), 1e-9);
+        assertEquals(2 * 52.0 / 300, CountingSystem.OMEGA_II.trueCount(shoe), 1e-9);
+    }
+
+    private static int rank(Card card) {
+        return card.getValue() - 1;
+    }
+}
@@ -0,0 +1,69 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// The vector kernel must play every lane exactly as the scalar one does.
+final class DealerKernelTest {
+    // Not a multiple of any vector length, so the scalar tail runs too.
+    private static final int LANE_COUNT = 1003;
+
+    @BeforeEach
+    void requireVectors() {
+        assumeTrue(DealerBatch.newKernel(DealerRule.STANDS_ON_SOFT_17, true).toString().startsWith("vector"),
+            "the jdk.incubator.vector module is not available");
+    }
+
+    @Test
+    void kernelsAgreeOnEveryDraw() {
+        for (DealerRule dealerRule : DealerRule.values()) {
+            DealerKernel vector = DealerBatch.newKernel(dealerRule, true);
+            DealerKernel scalar = DealerBatch.newKernel(dealerRule, false);
+            SplittableRandom random = new SplittableRandom(42);
+            for (int round = 0; round < 100; round++) {
+                // Lanes still drawing hold 2 to 16, or a soft hand; done
+                // lanes hold anything and must be left alone.
+                int[] hardValues = new int[LANE_COUNT];
+                int[] aces = new int[LANE_COUNT];
+                int[] done = new int[LANE_COUNT];
+                int[] cards = new int[LANE_COUNT];
+                for (int i = 0; i < LANE_COUNT; i++) {
+                    done[i] = random.nextInt(4) == 0 ? 1 : 0;
+                    aces[i] = random.nextInt(3) == 0 ? 1 : 0;
+                    hardValues[i] = done[i] != 0 ? random.nextInt(2, 27)
+                        : aces[i] != 0 ? random.nextInt(1, 7) : random.nextInt(2, 17);
+                    cards[i] = random.nextInt(1, 11);
+                }
+                int[][] scalarLanes = { hardValues.clone(), aces.clone(), done.clone() };
+                int[][] vectorLanes = { hardValues.clone(), aces.clone(), done.clone() };
+
+                assertEquals(scalar.draw(scalarLanes[0], scalarLanes[1], scalarLanes[2], cards, LANE_COUNT),
+                    vector.draw(vectorLanes[0], vectorLanes[1], vectorLanes[2], cards, LANE_COUNT));
+                for (int array = 0; array < scalarLanes.length; array++) {
+                    assertArrayEquals(scalarLanes[array], vectorLanes[array]);
+                }
+            }
+        }
+    }
+
+    // Whole batches from the same seed end in exactly the same hands.
+    @Test
+    void batchesAgreeFromTheSameSeed() {
+        for (DealerRule dealerRule : DealerRule.values()) {
+            DealerBatch vector = new DealerBatch(6, dealerRule, new SplittableRandom(7), true, LANE_COUNT);
+            DealerBatch scalar = new DealerBatch(6, dealerRule, new SplittableRandom(7), false, LANE_COUNT);
+            vector.run(200000);
+            scalar.run(200000);
+            assertEquals(scalar.getHandCount(), vector.getHandCount());
+            for (int upCard = 1; upCard <= 10; upCard++) {
+                assertArrayEquals(scalar.outcomes(upCard), vector.outcomes(upCard));
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+final class DealerProbabilitiesTest {
+    private static final double[] INFINITE_DECK = infiniteDeck();
+
+    @Test
+    void everyDistributionSumsToOne() {
+        for (DealerRule dealerRule : DealerRule.values()) {
+            for (int deckCount : new int[] { 1, 2, 6 }) {
+                double[][] table = new DealerProbabilities(composition(deckCount), dealerRule).table();
+                for (int upCard = 1; upCard <= 10; upCard++) {
+                    assertEquals(1.0, sum(table[upCard]), 1e-12, deckCount + " decks, up card " + upCard);
+                }
+            }
+            for (int upCard = 1; upCard <= 10; upCard++) {
+                assertEquals(1.0, sum(DealerProbabilities.outcomesWithReplacement(INFINITE_DECK, upCard,
+                    dealerRule)), 1e-12);
+            }
+        }
+    }
+
+    // Drawing without replacement matters less the more decks there are.
+    @Test
+    void finiteShoeApproachesTheInfiniteDeck() {
+        double previous = Double.POSITIVE_INFINITY;
+        for (int deckCount : new int[] { 1, 2, 8, 64 }) {
+            double[][] table = new DealerProbabilities(composition(deckCount)).table();
+            double largest = 0;
+            for (int upCard = 1; upCard <= 10; upCard++) {
+                double[] infinite = DealerProbabilities.outcomesWithReplacement(INFINITE_DECK, upCard);
+                for (int i = 0; i < DealerProbabilities.OUTCOME_COUNT; i++) {
+                    largest = Math.max(largest, Math.abs(table[upCard][i] - infinite[i]));
+                }
+            }
+            assertTrue(largest < previous, deckCount + " decks");
+            previous = largest;
+        }
+        assertTrue(previous < 0.001, "64 decks differ by " + previous);
+    }
+
+    // Published figures for six decks, dealer standing on soft 17, to the
+    // accuracy they are usually quoted.
+    @Test
+    void sixDeckBustRates() {
+        double[][] table = new DealerProbabilities(composition(6)).table();
+        assertEquals(0.423, table[6][DealerProbabilities.BUST], 0.002);
+        assertEquals(0.354, table[2][DealerProbabilities.BUST], 0.002);
+        assertEquals(0.212, table[10][DealerProbabilities.BUST], 0.002);
+        // The hole card is an ace 24 times out of the 311 cards left.
+        assertEquals(24.0 / 311, table[10][DealerProbabilities.BLACKJACK], 1e-12);
+    }
+
+    // Hitting soft 17 makes the dealer bust more with a 6 up.
+    @Test
+    void hittingSoft17BustsMore() {
+        int[] composition = composition(6);
+        double stands = new DealerProbabilities(composition, DealerRule.STANDS_ON_SOFT_17).outcomes(6)[
+            DealerProbabilities.BUST];
+        double hits = new DealerProbabilities(composition, DealerRule.HITS_SOFT_17).outcomes(6)[
+            DealerProbabilities.BUST];
+        assertTrue(hits > stands);
+    }
+
+    @Test
+    void withoutBlackjackLeavesNoBlackjack() {
+        double[] outcomes = new DealerProbabilities(composition(6)).outcomesWithoutBlackjack(1);
+        assertEquals(0.0, outcomes[DealerProbabilities.BLACKJACK]);
+        assertEquals(1.0, sum(outcomes), 1e-12);
+    }
+
+    private static int[] composition(int deckCount) {
+        int[] composition = new int[11];
+        for (int value = 1; value <= 9; value++) {
+            composition[value] = 4 * deckCount;
+        }
+        composition[10] = 16 * deckCount;
+        return composition;
+    }
+
+    private static double[] infiniteDeck() {
+        double[] drawProbabilities = new double[11];
+        for (int value = 1; value <= 9; value++) {
+            drawProbabilities[value] = 1.0 / 13;
+        }
+        drawProbabilities[10] = 4.0 / 13;
+        return drawProbabilities;
+    }
+
+    private static double sum(double[] outcomes) {
+        double sum = 0;
+        for (double p : outcomes) {
+            sum += p;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,180 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Rounds written by HandHistoryWriter, read back and replayed through Table.
+final class HandHistoryTest {
+    private static final int ROUNDS = 20000;
+
+    @TempDir
+    Path directory;
+
+    // A player that makes every kind of decision at random, so the log holds
+    // insurance, surrender, splits, doubles and hits.
+    @Test
+    void replayMatchesTheRecordedRounds() throws IOException {
+        TableRules rules = TableRules.DEFAULT.withLateSurrender(true).withMaxHands(TableRules.MAX_HANDS);
+        Path log = directory.resolve("hands.log");
+        SplittableRandom random = new SplittableRandom(42);
+        long netResult = 0;
+        long totalBet = 0;
+        RandomPlayer player = new RandomPlayer(random);
+        try (HandHistoryWriter writer = new HandHistoryWriter(log)) {
+            Table table = new Table(rules.newShoe(new SplittableRandom(7)), player, writer, rules);
+            Bankroll bankroll = Bankroll.unlimited();
+            for (int i = 0; i < ROUNDS; i++) {
+                int betAmount = 1 + random.nextInt(8);
+                totalBet += betAmount;
+                netResult += table.playRound(betAmount, bankroll);
+            }
+            assertEquals(ROUNDS, writer.getRoundsWritten());
+        }
+
+        // Every insurance and split the player turned down is in the log.
+        long insuranceDeclines = 0;
+        long splitDeclines = 0;
+        try (HandHistoryReader reader = new HandHistoryReader(log)) {
+            HistoryEvent event;
+            while ((event = reader.next()) != null) {
+                if (event == HistoryEvent.INSURANCE_DECLINED) {
+                    insuranceDeclines++;
+                }
+                else if (event == HistoryEvent.SPLIT_DECLINED) {
+                    splitDeclines++;
+                }
+            }
+        }
+        assertTrue(insuranceDeclines > 0 && splitDeclines > 0);
+        assertEquals(player.insuranceDeclines, insuranceDeclines);
+        assertEquals(player.splitDeclines, splitDeclines);
+
+        long rounds = 0;
+        long recordedBet = 0;
+        long recordedNet = 0;
+        try (HandHistoryReader reader = new HandHistoryReader(log)) {
+            RecordedRound round = new RecordedRound();
+            while (round.read(reader)) {
+                rounds++;
+                recordedBet += round.getBetAmount();
+                recordedNet += round.getNetResult();
+            }
+        }
+        assertEquals(ROUNDS, rounds);
+        assertEquals(totalBet, recordedBet);
+        assertEquals(netResult, recordedNet);
+
+        try (HandHistoryReader reader = new HandHistoryReader(log)) {
+            ReplayResult result = new Replay(rules).run(reader);
+            assertTrue(result.matches(), result.toString());
+            assertEquals(ROUNDS, result.getRounds());
+            assertEquals(netResult, result.getReplayedNetResult());
+        }
+    }
+
+    @Test
+    void roundWithTooManyDecisionsIsRefused() throws IOException {
+        Path log = directory.resolve("long.log");
+        Hand dealerHand = new Hand();
+        Hand playerHand = new Hand();
+        playerHand.addCard(Card.of('2', 's'));
+        playerHand.addCard(Card.of('2', 'h'));
+        dealerHand.addCard(Card.of('3', 's'));
+        dealerHand.addCard(Card.of('3', 'h'));
+        try (HandHistoryWriter writer = new HandHistoryWriter(log)) {
+            writer.roundDealt(dealerHand, playerHand);
+            writer.roundSettled(1, 0);
+            writer.roundDealt(dealerHand, playerHand);
+            for (int i = 0; i < 100; i++) {
+                writer.playerActed(HandOption.HIT, dealerHand, playerHand);
+            }
+            writer.roundSettled(1, 0);
+        }
+
+        try (HandHistoryReader reader = new HandHistoryReader(log)) {
+            RecordedRound round = new RecordedRound();
+            assertTrue(round.read(reader));
+            IOException e = assertThrows(IOException.class, () -> round.read(reader));
+            assertTrue(e.getMessage().startsWith("Round 2 "), e.getMessage());
+        }
+    }
+
+    // A round of a 2 2 stay against 3 3, with one byte overwritten: the
+    // option, the outcome or the count of dealer cards drawn.
+    @Test
+    void corruptedByteIsRefused() throws IOException {
+        Hand dealerHand = new Hand();
+        Hand playerHand = new Hand();
+        playerHand.addCard(Card.of('2', 's'));
+        playerHand.addCard(Card.of('2', 'h'));
+        dealerHand.addCard(Card.of('3', 's'));
+        dealerHand.addCard(Card.of('3', 'h'));
+        Path log = directory.resolve("round.log");
+        try (HandHistoryWriter writer = new HandHistoryWriter(log)) {
+            writer.roundDealt(dealerHand, playerHand);
+            writer.playerActed(HandOption.STAY, dealerHand, playerHand);
+            writer.handSettled(Outcome.DEALER_WINS, dealerHand, playerHand);
+            writer.roundSettled(1, -10);
+        }
+        byte[] bytes = Files.readAllBytes(log);
+
+        // After the magic number and the starting cards: the option at 10,
+        // the outcome at 12 and the dealer card count at 13.
+        int[][] corruptions = { { 10, 99 }, { 10, -1 }, { 12, 99 }, { 13, 33 }, { 13, -1 } };
+        for (int[] corruption : corruptions) {
+            byte[] corrupted = bytes.clone();
+            corrupted[corruption[0]] = (byte)corruption[1];
+            Path damaged = directory.resolve("damaged.log");
+            Files.write(damaged, corrupted);
+            try (HandHistoryReader reader = new HandHistoryReader(damaged)) {
+                IOException e = assertThrows(IOException.class, () -> {
+                    while (reader.next() != null) {
+                    }
+                });
+                assertTrue(e.getMessage().startsWith("Bad "), e.getMessage());
+            }
+        }
+    }
+
+    private static final class RandomPlayer implements PlayerStrategy {
+        private SplittableRandom random;
+        private long insuranceDeclines;
+        private long splitDeclines;
+
+        RandomPlayer(SplittableRandom random) {
+            this.random = random;
+        }
+
+        public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+            boolean take = random.nextInt(4) == 0;
+            insuranceDeclines += take ? 0 : 1;
+            return take;
+        }
+
+        public boolean surrender(Hand playerHand, Card dealerUpCard) {
+            return random.nextInt(8) == 0;
+        }
+
+        public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+            boolean split = random.nextBoolean();
+            splitDeclines += split ? 0 : 1;
+            return split;
+        }
+
+        public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown) {
+            if (allowDoubleDown && random.nextInt(4) == 0) {
+                return HandOption.DOUBLE_DOWN;
+            }
+            return playerHand.getSoftValue() < 12 || random.nextInt(3) == 0 ? HandOption.HIT : HandOption.STAY;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+final class InfiniteDeckEvTest {
+    private static final InfiniteDeckEv DEFAULT = InfiniteDeckEv.forRules(TableRules.DEFAULT);
+
+    // Published infinite deck house edges for these rules are a little over
+    // half a percent.
+    @Test
+    void houseEdgeForTheDefaultRules() {
+        double value = DEFAULT.roundValue();
+        assertTrue(value < -0.004 && value > -0.0075, "house edge " + -value);
+    }
+
+    // Worse rules cost the player and better ones help: hitting soft 17
+    // about 0.2%, 6:5 blackjacks about 1.4% and late surrender helps.
+    @Test
+    void rulesMoveTheHouseEdge() {
+        double value = DEFAULT.roundValue();
+        double h17 = InfiniteDeckEv.forRules(TableRules.parse("h17")).roundValue();
+        double sixToFive = InfiniteDeckEv.forRules(TableRules.parse("6:5")).roundValue();
+        double surrender = InfiniteDeckEv.forRules(TableRules.parse("surrender")).roundValue();
+        assertEquals(-0.002, h17 - value, 0.001);
+        assertEquals(-0.014, sixToFive - value, 0.001);
+        assertTrue(surrender > value);
+    }
+
+    @Test
+    void surrenderLosesHalfTheBet() {
+        assertEquals(-0.5, DEFAULT.surrender());
+    }
+
+    // The hole card is a ten 4 times in 13, and the bet needs better than 1
+    // in 3.
+    @Test
+    void insuranceLosesOnANeutralShoe() {
+        assertTrue(DEFAULT.insurance() < 0);
+        assertEquals(-0.5 / 13, DEFAULT.insurance(), 1e-12);
+    }
+
+    @Test
+    void knownDecisions() {
+        int hard16 = state("T6");
+        assertTrue(DEFAULT.hit(hard16, 10) > DEFAULT.stand(hard16, 10));
+        assertTrue(DEFAULT.stand(hard16, 6) > DEFAULT.hit(hard16, 6));
+        int hard11 = state("65");
+        assertTrue(DEFAULT.doubleDown(hard11, 6) > DEFAULT.hit(hard11, 6));
+        assertTrue(DEFAULT.split(8, 10) > DEFAULT.best(state("88"), 10, true));
+        assertTrue(DEFAULT.split(10, 6) < DEFAULT.stand(state("TT"), 6));
+        // Standing on 20 against a 6 wins well over half the time.
+        assertTrue(DEFAULT.stand(state("TT"), 6) > 0.6);
+    }
+
+    private static int state(String ranks) {
+        int state = HandState.EMPTY;
+        for (char rank : ranks.toCharArray()) {
+            state = HandState.addCard(state, Cards.indexOf(rank, 'h'));
+        }
+        return state;
+    }
+}
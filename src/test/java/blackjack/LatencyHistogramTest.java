@@ -0,0 +1,54 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+final class LatencyHistogramTest {
+    // Every bucket's first value falls in that bucket, and the first values
+    // rise from bucket to bucket.
+    @Test
+    void bucketStartRoundTrips() {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            assertEquals(i, LatencyHistogram.bucketIndex(LatencyHistogram.bucketStart(i)));
+            if (i > 0) {
+                assertTrue(LatencyHistogram.bucketStart(i) > LatencyHistogram.bucketStart(i - 1));
+            }
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    // A value's bucket starts at most a sixteenth below it, and small values
+    // are exact.
+    @Test
+    void bucketsHoldValuesToASixteenth() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int n = 0; n < 100000; n++) {
+            long value = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63);
+            long start = LatencyHistogram.bucketStart(LatencyHistogram.bucketIndex(value));
+            assertTrue(start <= value && value - start <= value / 16, Long.toString(value));
+        }
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.bucketStart(LatencyHistogram.bucketIndex(value)));
+        }
+    }
+
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMean(), 1e-9);
+        assertEquals(1000, histogram.getMax());
+        assertTrue(Math.abs(histogram.getPercentile(0.5) - 500) <= 500 / 16);
+        assertTrue(Math.abs(histogram.getPercentile(0.99) - 990) <= 990 / 16);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+}
@@ -0,0 +1,75 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+// Every algorithm, whether it splits its streams off or jumps them ahead.
+final class RandomStreamsTest {
+    private static final int STREAM_COUNT = 64;
+    private static final int DRAW_COUNT = 16;
+
+    @Test
+    void sameSeedGivesTheSameSequence() {
+        for (RandomAlgorithm algorithm : RandomAlgorithm.values()) {
+            assertArrayEquals(draw(algorithm.create(42)), draw(algorithm.create(42)), algorithm.toString());
+            assertFalse(Arrays.equals(draw(algorithm.create(42)), draw(algorithm.create(43))),
+                algorithm.toString());
+        }
+    }
+
+    @Test
+    void sameSeedGivesTheSameStreams() {
+        for (RandomAlgorithm algorithm : RandomAlgorithm.values()) {
+            RandomStreams first = new RandomStreams(algorithm, 7);
+            RandomStreams second = new RandomStreams(algorithm, 7);
+            for (int i = 0; i < STREAM_COUNT; i++) {
+                assertArrayEquals(draw(first.next()), draw(second.next()), algorithm + " stream " + i);
+            }
+        }
+    }
+
+    // No two streams share a draw. A jumpable root hands out its own state
+    // before jumping, so only the streams are compared, not the root.
+    @Test
+    void streamsDiffer() {
+        for (RandomAlgorithm algorithm : RandomAlgorithm.values()) {
+            RandomStreams streams = new RandomStreams(algorithm, 7);
+            Set<Long> seen = new HashSet<Long>();
+            for (int i = 0; i < STREAM_COUNT; i++) {
+                long[] draws = draw(streams.next());
+                for (long value : draws) {
+                    assertTrue(seen.add(value), algorithm + " stream " + i + " repeats a draw");
+                }
+            }
+            assertEquals(STREAM_COUNT * DRAW_COUNT, seen.size());
+        }
+    }
+
+    @Test
+    void parseKnowsEveryLabel() {
+        for (RandomAlgorithm algorithm : RandomAlgorithm.values()) {
+            assertEquals(algorithm, RandomAlgorithm.parse(algorithm.toString()));
+        }
+        assertEquals(RandomAlgorithm.XOSHIRO256PP, RandomAlgorithm.fromArgs(new String[] { "--rng=xoshiro256pp" }));
+        assertEquals(RandomAlgorithm.DEFAULT, RandomAlgorithm.fromArgs(new String[0]));
+        assertThrows(IllegalArgumentException.class, () -> RandomAlgorithm.parse("mt19937"));
+    }
+
+    private static long[] draw(RandomGenerator randomizer) {
+        long[] values = new long[DRAW_COUNT];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomizer.nextLong();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,75 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// Flat bets from 30 chips to a target of 40, where about a quarter of the
+// sessions are ruined: common enough for a direct run to measure, so
+// splitting can be checked against it.
+final class RuinSimulatorTest {
+    private static final long BANKROLL_CHIPS = 30;
+    private static final long TARGET_CHIPS = 40;
+    private static final int SESSIONS = 10000;
+    private static final long SEED = 11;
+
+    @Test
+    void splittingFallsWithinTheDirectInterval() {
+        RuinSimulator simulator = newSimulator(4);
+        try {
+            RuinResult direct = simulator.run(SESSIONS, SEED);
+            assertEquals(SESSIONS, direct.getSessions());
+            assertEquals(SESSIONS, direct.getRuined() + direct.getReachedTarget());
+            double p = direct.getRuinProbability();
+            assertTrue(p > 0.2 && p < 0.35, direct.toString());
+
+            RuinEstimate estimate = simulator.estimate(3, SESSIONS, SEED);
+            assertTrue(Math.abs(estimate.getProbability() - p) <= direct.getRuinHalfWidth(),
+                estimate + " against " + direct);
+            assertTrue(estimate.getRelativeError() < 0.05, estimate.toString());
+        }
+        finally {
+            simulator.shutdown();
+        }
+    }
+
+    // The seats are merged in order, so the thread count makes no difference.
+    @Test
+    void sameSeedGivesTheSameResultOnAnyThreadCount() {
+        RuinSimulator one = newSimulator(1);
+        RuinSimulator four = newSimulator(4);
+        try {
+            RuinResult first = one.run(1000, SEED);
+            RuinResult second = four.run(1000, SEED);
+            assertEquals(first.getRuined(), second.getRuined());
+            assertEquals(first.getDrawdownQuantile(0.5), second.getDrawdownQuantile(0.5));
+            assertEquals(one.estimate(3, 1000, SEED).getProbability(), four.estimate(3, 1000, SEED).getProbability());
+        }
+        finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void badArgumentsAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new RuinSimulator(1, TableRules.DEFAULT,
+            RandomAlgorithm.DEFAULT, 10, 10, 100, shoe -> new BasicStrategy(), shoe -> new FlatBet(1)));
+        RuinSimulator simulator = newSimulator(1);
+        try {
+            // Only 29 chips lie between the bankroll and ruin.
+            assertThrows(IllegalArgumentException.class, () -> simulator.estimate(30, 100, SEED));
+            assertThrows(IllegalArgumentException.class, () -> simulator.estimate(3, 0, SEED));
+        }
+        finally {
+            simulator.shutdown();
+        }
+    }
+
+    private static RuinSimulator newSimulator(int threadCount) {
+        return new RuinSimulator(threadCount, TableRules.DEFAULT, RandomAlgorithm.DEFAULT, BANKROLL_CHIPS,
+            TARGET_CHIPS, 1000000, shoe -> new BasicStrategy(), shoe -> new FlatBet(1));
+    }
+}
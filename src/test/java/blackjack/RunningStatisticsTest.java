@@ -0,0 +1,41 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+final class RunningStatisticsTest {
+    @Test
+    void meanAndVariance() {
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : new double[] { 2, 4, 4, 4, 5, 5, 7, 9 }) {
+            statistics.add(value);
+        }
+        assertEquals(8, statistics.getCount());
+        assertEquals(5.0, statistics.getMean(), 1e-12);
+        assertEquals(32.0 / 7, statistics.getVariance(), 1e-12);
+        assertEquals(Math.sqrt(32.0 / 7 / 8), statistics.getStandardError(), 1e-12);
+    }
+
+    // Accumulators merged from pieces of a stream match one that saw it all.
+    @Test
+    void mergedStatisticsMatchOneStream() {
+        SplittableRandom random = new SplittableRandom(3);
+        RunningStatistics whole = new RunningStatistics();
+        RunningStatistics merged = new RunningStatistics();
+        for (int piece = 0; piece < 10; piece++) {
+            RunningStatistics part = new RunningStatistics();
+            for (int n = random.nextInt(1000); n > 0; n--) {
+                double value = random.nextInt(-2, 3) * 1.5;
+                whole.add(value);
+                part.add(value);
+            }
+            merged.addAll(part);
+        }
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMean(), merged.getMean(), 1e-12);
+        assertEquals(whole.getVariance(), merged.getVariance(), 1e-9);
+    }
+}
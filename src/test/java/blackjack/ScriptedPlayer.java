@@ -0,0 +1,56 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Makes the same decisions every time and records what the table offered:
+// stays on every hand unless told otherwise.
+final class ScriptedPlayer implements PlayerStrategy, TableListener {
+    boolean insurance;
+    boolean surrender;
+    boolean split;
+    HandOption handOption = HandOption.STAY;
+    // Doubles when the table allows it and plays handOption otherwise.
+    boolean doubleIfAllowed;
+
+    int splitsOffered;
+    // As the table reported them.
+    int insuranceDeclines;
+    int splitDeclines;
+    List<Outcome> outcomes = new ArrayList<Outcome>();
+
+    public boolean takeInsurance(Hand playerHand, Card dealerUpCard) {
+        return insurance;
+    }
+
+    public boolean surrender(Hand playerHand, Card dealerUpCard) {
+        return surrender;
+    }
+
+    public boolean splitPair(Hand playerHand, Card dealerUpCard) {
+        splitsOffered++;
+        return split;
+    }
+
+    public HandOption chooseHandOption(Hand playerHand, Card dealerUpCard, boolean allowDoubleDown) {
+        return doubleIfAllowed && allowDoubleDown ? HandOption.DOUBLE_DOWN : handOption;
+    }
+
+    public void insuranceDeclined() {
+        insuranceDeclines++;
+    }
+
+    public void splitDeclined() {
+        splitDeclines++;
+    }
+
+    public void handSettled(Outcome outcome, Hand dealerHand, Hand playerHand) {
+        outcomes.add(outcome);
+    }
+
+    // A table dealing the given ranks, with this player deciding and
+    // listening.
+    Table newTable(String ranks, TableRules rules) {
+        return new Table(new StackedCards(ranks), this, this, rules);
+    }
+}
@@ -0,0 +1,122 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+final class SettlementTest {
+    @Test
+    void blackjackReturns() {
+        assertEquals(25, BlackjackPayout.THREE_TO_TWO.getReturnUnits());
+        assertEquals(22, BlackjackPayout.SIX_TO_FIVE.getReturnUnits());
+        assertEquals(20, BlackjackPayout.EVEN_MONEY.getReturnUnits());
+    }
+
+    // Every hand a player or dealer can hold, settled through the matrix
+    // under every payout, with and without blackjack allowed, against a
+    // direct comparison of the two hands. Between them the hands cover every
+    // code but 1, which no hand is worth.
+    @Test
+    void matrixMatchesComparingTheHands() {
+        List<Hand> hands = allHands();
+        Set<Integer> codes = new HashSet<Integer>();
+        for (Hand hand : hands) {
+            codes.add(Settlement.code(hand.getState(), true));
+            codes.add(Settlement.code(hand.getState(), false));
+        }
+        assertEquals(Settlement.CODE_COUNT - 1, codes.size());
+
+        for (BlackjackPayout payout : BlackjackPayout.values()) {
+            for (Hand player : hands) {
+                for (Hand dealer : hands) {
+                    for (boolean blackjackAllowed : new boolean[] { true, false }) {
+                        int entry = payout.settle(Settlement.code(player.getState(), blackjackAllowed),
+                            Settlement.code(dealer.getState(), true));
+                        String hand = payout + " " + player.showHand() + " against " + dealer.showHand()
+                            + (blackjackAllowed ? "" : " split");
+                        Outcome outcome = compare(player, dealer, blackjackAllowed);
+                        assertEquals(outcome, Settlement.outcome(entry), hand);
+                        assertEquals(returnUnits(outcome, payout), Settlement.returnUnits(entry), hand);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Outcome compare(Hand player, Hand dealer, boolean blackjackAllowed) {
+        boolean playerBlackjack = blackjackAllowed && player.isBlackjack();
+        if (playerBlackjack && dealer.isBlackjack()) {
+            return Outcome.BLACKJACK_PUSH;
+        }
+        else if (playerBlackjack) {
+            return Outcome.PLAYER_BLACKJACK;
+        }
+        else if (dealer.isBlackjack()) {
+            return Outcome.DEALER_BLACKJACK;
+        }
+        else if (player.isBusted()) {
+            return Outcome.PLAYER_BUSTED;
+        }
+        else if (dealer.isBusted()) {
+            return Outcome.DEALER_BUSTED;
+        }
+        else if (player.getSoftValue() > dealer.getSoftValue()) {
+            return Outcome.PLAYER_WINS;
+        }
+        else if (player.getSoftValue() == dealer.getSoftValue()) {
+            return Outcome.PUSH;
+        }
+        else {
+            return Outcome.DEALER_WINS;
+        }
+    }
+
+    private static int returnUnits(Outcome outcome, BlackjackPayout payout) {
+        switch (outcome) {
+            case PLAYER_BLACKJACK:
+                return payout.getReturnUnits();
+            case PLAYER_WINS:
+            case DEALER_BUSTED:
+                return 2 * Bankroll.UNITS_PER_CHIP;
+            case PUSH:
+            case BLACKJACK_PUSH:
+                return Bankroll.UNITS_PER_CHIP;
+            default:
+                return 0;
+        }
+    }
+
+    // One hand for each value, ace or not, up to the first bust, with two
+    // cards and with more, found by adding every rank to every hand found.
+    private static List<Hand> allHands() {
+        List<Hand> hands = new ArrayList<Hand>();
+        Set<Integer> seen = new HashSet<Integer>();
+        ArrayDeque<Hand> pending = new ArrayDeque<Hand>();
+        pending.add(new Hand());
+        while (!pending.isEmpty()) {
+            Hand hand = pending.poll();
+            int state = hand.getState();
+            int key = HandState.valueIndex(state) * 4 + Math.min(HandState.cardCount(state), 3);
+            if (!seen.add(key)) {
+                continue;
+            }
+            hands.add(hand);
+            if (hand.isBusted()) {
+                continue;
+            }
+            for (char rank : "23456789TA".toCharArray()) {
+                Hand next = new Hand();
+                next.copyFrom(hand);
+                next.addCard(Card.of(rank, 's'));
+                pending.add(next);
+            }
+        }
+        return hands;
+    }
+}
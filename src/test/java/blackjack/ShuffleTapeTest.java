@@ -0,0 +1,114 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class ShuffleTapeTest {
+    private static final int DECK_COUNT = 2;
+    private static final int SHOE_COUNT = 20;
+    private static final int SHOE_SIZE = DECK_COUNT * Cards.CARD_COUNT;
+    private static final int HEADER_SIZE = 16;
+
+    @TempDir
+    Path directory;
+
+    // The same seed writes the same tape, and reopening it deals the shoes
+    // in the order they were written.
+    @Test
+    void reopenedTapeDealsTheWrittenShoes() throws IOException {
+        Path path = directory.resolve("shoes.tape");
+        ShuffleTape.write(path, DECK_COUNT, SHOE_COUNT, new SplittableRandom(3));
+        byte[] bytes = Files.readAllBytes(path);
+        assertEquals(HEADER_SIZE + SHOE_COUNT * SHOE_SIZE, bytes.length);
+        Path copy = directory.resolve("again.tape");
+        ShuffleTape.write(copy, DECK_COUNT, SHOE_COUNT, new SplittableRandom(3));
+        assertArrayEquals(bytes, Files.readAllBytes(copy));
+
+        ShuffleTape tape = new ShuffleTape(path);
+        assertEquals(DECK_COUNT, tape.getDeckCount());
+        assertEquals(SHOE_COUNT, tape.getShoeCount());
+        int[] shoe = new int[SHOE_SIZE];
+        int[][] shoes = new int[SHOE_COUNT][];
+        for (int n = 0; n < SHOE_COUNT; n++) {
+            tape.readShoe(shoe);
+            for (int i = 0; i < SHOE_SIZE; i++) {
+                assertEquals(bytes[HEADER_SIZE + n * SHOE_SIZE + i], shoe[i]);
+            }
+            shoes[n] = shoe.clone();
+        }
+        assertFalse(tape.isReused());
+
+        // Opened again, read from the middle and past the end.
+        ShuffleTape reader = new ShuffleTape(path).at(SHOE_COUNT - 2, 3);
+        for (int n = SHOE_COUNT - 2; n <= SHOE_COUNT; n++) {
+            reader.readShoe(shoe);
+            assertArrayEquals(shoes[n % SHOE_COUNT], shoe);
+        }
+        assertFalse(reader.isReused());
+        reader.readShoe(shoe);
+        assertArrayEquals(shoes[1], shoe);
+        assertTrue(reader.isReused());
+    }
+
+    // One card of the third shoe overwritten by its neighbour, so the shoe
+    // holds that card once too often.
+    @Test
+    void duplicatedCardIsRefused() throws IOException {
+        Path path = directory.resolve("shoes.tape");
+        ShuffleTape.write(path, DECK_COUNT, SHOE_COUNT, new SplittableRandom(3));
+        byte[] bytes = Files.readAllBytes(path);
+        int offset = HEADER_SIZE + 2 * SHOE_SIZE + 10;
+        bytes[offset] = bytes[offset + 1];
+        Files.write(path, bytes);
+        IOException e = assertThrows(IOException.class, () -> new ShuffleTape(path));
+        assertTrue(e.getMessage().contains("damaged shuffle tape: shoe 2 "), e.getMessage());
+    }
+
+    @Test
+    void shortOrForeignFileIsRefused() throws IOException {
+        Path path = directory.resolve("shoes.tape");
+        ShuffleTape.write(path, DECK_COUNT, SHOE_COUNT, new SplittableRandom(3));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> new ShuffleTape(path));
+        bytes[0] = 'X';
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> new ShuffleTape(path));
+    }
+
+    @Test
+    void runLongerThanTheTapeIsRefused() throws IOException {
+        Path path = directory.resolve("shoes.tape");
+        ShuffleTape.write(path, DECK_COUNT, SHOE_COUNT, new SplittableRandom(3));
+        ShuffleTape tape = new ShuffleTape(path);
+        long rounds = 1000;
+        long needed = tape.shoesNeeded(rounds, Shoe.DEFAULT_PENETRATION);
+        assertTrue(needed > SHOE_COUNT);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> ShuffleTape.requireShoes(tape.getShoeCount(), needed, "A run of 1,000 rounds"));
+        assertTrue(e.getMessage().startsWith("A run of 1,000 rounds needs about "), e.getMessage());
+        ShuffleTape.requireShoes(tape.getShoeCount(), tape.shoesNeeded(10, Shoe.DEFAULT_PENETRATION), "10 rounds");
+
+        // Split into 256 shards, each gets no shoes at all.
+        ParallelSimulator simulator = new ParallelSimulator(1, TableRules.DEFAULT.withDeckCount(DECK_COUNT),
+            RandomAlgorithm.DEFAULT, tape, shoe -> new BasicStrategy(), shoe -> new FlatBet(1));
+        try {
+            assertThrows(IllegalArgumentException.class, () -> simulator.run(rounds, 1));
+        }
+        finally {
+            simulator.shutdown();
+        }
+    }
+}
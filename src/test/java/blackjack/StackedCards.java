@@ -0,0 +1,24 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Deals the given ranks in order, the player's and dealer's starting cards
+// alternating, and checks at the end of the round that every card was dealt.
+final class StackedCards implements CardSource {
+    private String ranks;
+    private int next;
+
+    StackedCards(String ranks) {
+        this.ranks = ranks;
+    }
+
+    public void startRound() {}
+
+    public int dealNextCardIndex() {
+        return Cards.indexOf(ranks.charAt(next++), 's');
+    }
+
+    public void endRound() {
+        assertEquals(ranks.length(), next);
+    }
+}
@@ -0,0 +1,96 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// Solved decisions checked against well known basic strategy for six decks,
+// dealer standing on soft 17, double after split.
+final class StrategyTest {
+    private static final StrategyTable TABLE = StrategySolver.solve(sixDecks());
+
+    @Test
+    void hardHands() {
+        assertEquals(HandOption.HIT, TABLE.chooseHandOption(hand("T6"), up('T'), true));
+        assertEquals(HandOption.STAY, TABLE.chooseHandOption(hand("T6"), up('6'), true));
+        assertEquals(HandOption.STAY, TABLE.chooseHandOption(hand("T2"), up('4'), true));
+        assertEquals(HandOption.HIT, TABLE.chooseHandOption(hand("T2"), up('2'), true));
+        assertEquals(HandOption.DOUBLE_DOWN, TABLE.chooseHandOption(hand("65"), up('6'), true));
+        assertEquals(HandOption.HIT, TABLE.chooseHandOption(hand("65"), up('6'), false));
+        assertEquals(HandOption.STAY, TABLE.chooseHandOption(hand("TT"), up('6'), true));
+    }
+
+    @Test
+    void softHands() {
+        assertEquals(HandOption.DOUBLE_DOWN, TABLE.chooseHandOption(hand("A7"), up('6'), true));
+        assertEquals(HandOption.STAY, TABLE.chooseHandOption(hand("A7"), up('8'), true));
+        assertEquals(HandOption.HIT, TABLE.chooseHandOption(hand("A7"), up('9'), true));
+    }
+
+    @Test
+    void pairs() {
+        assertTrue(TABLE.splitPair(hand("AA"), up('T')));
+        assertTrue(TABLE.splitPair(hand("88"), up('6')));
+        assertTrue(TABLE.splitPair(hand("88"), up('T')));
+        assertFalse(TABLE.splitPair(hand("TT"), up('6')));
+        assertFalse(TABLE.splitPair(hand("55"), up('6')));
+    }
+
+    @Test
+    void surrenderWhenAllowed() {
+        assertFalse(TABLE.surrender(hand("T6"), up('T')));
+        StrategyTable table = StrategySolver.solve(sixDecks(), TableRules.DEFAULT.withLateSurrender(true));
+        assertTrue(table.surrender(hand("T6"), up('T')));
+        assertTrue(table.surrender(hand("T5"), up('T')));
+        assertFalse(table.surrender(hand("T6"), up('6')));
+        assertFalse(table.surrender(hand("88"), up('T')));
+    }
+
+    // A third of the cards would have to be tens, and a neutral shoe holds
+    // fewer.
+    @Test
+    void noInsuranceFromANeutralShoe() {
+        assertFalse(TABLE.takeInsurance(hand("T9"), up('A')));
+    }
+
+    // A fresh shoe plays the table solved for its full composition, and the
+    // chart strategy agrees on these cells.
+    @Test
+    void strategiesAgreeOnAFreshShoe() {
+        PlayerStrategy[] strategies = { new CompositionStrategy(new Shoe(6, 0.75, new SplittableRandom(1))),
+            new BasicStrategy() };
+        for (PlayerStrategy strategy : strategies) {
+            assertEquals(HandOption.HIT, strategy.chooseHandOption(hand("T6"), up('T'), true));
+            assertEquals(HandOption.DOUBLE_DOWN, strategy.chooseHandOption(hand("65"), up('6'), true));
+            assertEquals(HandOption.STAY, strategy.chooseHandOption(hand("TT"), up('6'), true));
+            assertTrue(strategy.splitPair(hand("AA"), up('T')));
+            assertTrue(strategy.splitPair(hand("88"), up('T')));
+            assertFalse(strategy.splitPair(hand("TT"), up('6')));
+        }
+    }
+
+    private static Hand hand(String ranks) {
+        Hand hand = new Hand();
+        for (char rank : ranks.toCharArray()) {
+            hand.addCard(Card.of(rank, 'h'));
+        }
+        return hand;
+    }
+
+    private static Card up(char rank) {
+        return Card.of(rank, 's');
+    }
+
+    private static int[] sixDecks() {
+        int[] composition = new int[11];
+        for (int value = 1; value <= 9; value++) {
+            composition[value] = 24;
+        }
+        composition[10] = 96;
+        return composition;
+    }
+}
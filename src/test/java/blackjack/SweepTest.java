@@ -0,0 +1,87 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class SweepTest {
+    private static final long ROUNDS = 5000;
+    private static final long SEED = 3;
+
+    @TempDir
+    Path directory;
+
+    // A sweep stopped after its first cells, with the row it was writing cut
+    // short, picks up from the checkpoint and ends with the same table as a
+    // sweep that ran straight through.
+    @Test
+    void resumedSweepMatchesAnUninterruptedOne() throws IOException {
+        Path straight = directory.resolve("straight.tsv");
+        String expected = run(newSweep(6), straight, SEED);
+        List<String> lines = Files.readAllLines(straight, StandardCharsets.UTF_8);
+        assertEquals(1 + 6, lines.size());
+
+        Path resumed = directory.resolve("resumed.tsv");
+        run(newSweep(2), resumed, SEED);
+        assertEquals(1 + 2, Files.readAllLines(resumed, StandardCharsets.UTF_8).size());
+        String cutShort = lines.get(3).substring(0, lines.get(3).length() / 2);
+        Files.write(resumed, cutShort.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(expected, run(newSweep(6), resumed, SEED));
+        // The cut short line, finished as it was, and the four cells played.
+        assertEquals(1 + 2 + 1 + 4, Files.readAllLines(resumed, StandardCharsets.UTF_8).size());
+
+        // Everything is done now, so running again changes nothing.
+        long size = Files.size(resumed);
+        assertEquals(expected, run(newSweep(6), resumed, SEED));
+        assertEquals(size, Files.size(resumed));
+    }
+
+    @Test
+    void checkpointFromAnotherSweepIsRefused() throws IOException {
+        Path checkpoint = directory.resolve("checkpoint.tsv");
+        run(newSweep(1), checkpoint, SEED);
+        byte[] bytes = Files.readAllBytes(checkpoint);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> run(newSweep(1), checkpoint, SEED + 1));
+        assertTrue(e.getMessage().contains("is from another sweep"), e.getMessage());
+        assertEquals(bytes.length, Files.size(checkpoint));
+    }
+
+    // The first cellCount cells of a grid of deck counts, bettings and
+    // spreads, in the same order every time.
+    private static Sweep newSweep(int cellCount) {
+        Sweep sweep = new Sweep(2, RandomAlgorithm.DEFAULT);
+        int count = 0;
+        for (int deckCount : new int[] { 6, 2 }) {
+            TableRules rules = TableRules.DEFAULT.withDeckCount(deckCount);
+            for (String betting : new String[] { "flat", "hi-lo" }) {
+                for (int spread : new int[] { 4, 8 }) {
+                    if (count++ < cellCount) {
+                        sweep.addCell(rules, Shoe.DEFAULT_PENETRATION, "basic", betting, spread);
+                    }
+                }
+            }
+        }
+        return sweep;
+    }
+
+    private static String run(Sweep sweep, Path checkpoint, long seed) throws IOException {
+        try {
+            return sweep.run(checkpoint, ROUNDS, seed);
+        }
+        finally {
+            sweep.shutdown();
+        }
+    }
+}
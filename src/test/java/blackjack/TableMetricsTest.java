@@ -0,0 +1,46 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+final class TableMetricsTest {
+    // A split of 8 8 against T 7, each 8 drawing a T, at 2 chips: both hands
+    // win.
+    @Test
+    void recorderCountsARound() {
+        TableMetrics metrics = new TableMetrics();
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        Table table = new Table(new StackedCards("8T87TT"), player, metrics.newRecorder(1), TableRules.DEFAULT);
+        table.playRound(2, new Bankroll(100));
+
+        assertEquals(1, metrics.getRoundsPlayed());
+        assertEquals(2, metrics.getHandsDealt());
+        assertEquals(1, metrics.getSplits());
+        assertEquals(2, metrics.getStays());
+        assertEquals(2, metrics.getOutcomes(Outcome.PLAYER_WINS));
+        assertEquals(4.0, metrics.getChipsWagered());
+        assertEquals(4.0, metrics.getChipsWon());
+        assertEquals(0.0, metrics.getChipsLost());
+        assertEquals(1, metrics.getRoundLatency().getCount());
+    }
+
+    // Counts reach the totals a batch at a time, or on flush.
+    @Test
+    void recorderFlushesEveryBatch() {
+        TableMetrics metrics = new TableMetrics();
+        TableMetrics.Recorder recorder = metrics.newRecorder(3);
+        Bankroll bankroll = Bankroll.unlimited();
+        for (int round = 1; round <= 4; round++) {
+            new Table(new StackedCards("TT67"), new ScriptedPlayer(), recorder, TableRules.DEFAULT)
+                .playRound(1, bankroll);
+            assertEquals(round < 3 ? 0 : 3, metrics.getRoundsPlayed());
+        }
+        recorder.flush();
+        assertEquals(4, metrics.getRoundsPlayed());
+        assertEquals(4.0, metrics.getChipsLost());
+        metrics.reset();
+        assertEquals(0, metrics.getRoundsPlayed());
+    }
+}
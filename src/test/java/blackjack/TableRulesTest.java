@@ -0,0 +1,83 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+final class TableRulesTest {
+    @Test
+    void parseReadsEveryRule() {
+        TableRules rules = TableRules.parse("decks=8,h17,6:5,hands=4,no-das,surrender");
+        assertEquals(8, rules.getDeckCount());
+        assertEquals(DealerRule.HITS_SOFT_17, rules.getDealerRule());
+        assertEquals(BlackjackPayout.SIX_TO_FIVE, rules.getBlackjackPayout());
+        assertEquals(4, rules.getMaxHands());
+        assertFalse(rules.isDoubleAfterSplit());
+        assertTrue(rules.isLateSurrender());
+        assertEquals("decks=8,h17,6:5,hands=4,no-das,surrender", rules.toString());
+    }
+
+    @Test
+    void toStringRoundTrips() {
+        String[] specs = { "decks=8,h17,6:5,hands=4,no-das,surrender", TableRules.DEFAULT.toString(),
+            "decks=1,s17,1:1,hands=1,das,no-surrender" };
+        for (String spec : specs) {
+            assertEquals(spec, TableRules.parse(spec).toString());
+        }
+    }
+
+    // Rules not listed keep their defaults.
+    @Test
+    void emptySpecGivesTheDefaults() {
+        assertEquals(TableRules.DEFAULT.toString(), TableRules.parse("").toString());
+        assertEquals(TableRules.DEFAULT.withLateSurrender(true).toString(),
+            TableRules.parse(" surrender, ").toString());
+    }
+
+    @Test
+    void badSpecsAreRefused() {
+        for (String spec : new String[] { "hands=5", "hands=0", "decks=0", "decks=six", "bogus", "3:1" }) {
+            assertThrows(IllegalArgumentException.class, () -> TableRules.parse(spec), spec);
+        }
+    }
+
+    @Test
+    void blackjackPaysSixToFive() {
+        Bankroll bankroll = new Bankroll(100);
+        TableRules rules = TableRules.parse("6:5");
+        // Player A K, dealer 9 7.
+        assertEquals(60, new ScriptedPlayer().newTable("A9K7", rules).playRound(5, bankroll));
+        assertEquals(1060, bankroll.getUnits());
+    }
+
+    @Test
+    void surrenderReturnsHalfTheBet() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.surrender = true;
+        // Player T 6, dealer T 7.
+        assertEquals(-15, player.newTable("TT67", TableRules.parse("surrender")).playRound(3, bankroll));
+        assertEquals(985, bankroll.getUnits());
+    }
+
+    // Without surrender in the rules the player is never asked.
+    @Test
+    void noSurrenderByDefault() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.surrender = true;
+        assertEquals(-30, player.newTable("TT67", TableRules.DEFAULT).playRound(3, bankroll));
+    }
+
+    // The dealer's soft 17, A 6, stands under s17 and draws under h17.
+    @Test
+    void dealerRuleDecidesSoft17() {
+        Bankroll bankroll = new Bankroll(100);
+        // Player T 8 stands, dealer A 6 and then a 3 under h17.
+        assertEquals(10, new ScriptedPlayer().newTable("TA86", TableRules.parse("s17")).playRound(1, bankroll));
+        assertEquals(-10, new ScriptedPlayer().newTable("TA863", TableRules.parse("h17")).playRound(1, bankroll));
+    }
+}
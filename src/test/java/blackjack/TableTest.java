@@ -0,0 +1,161 @@
+package blackjack;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+// Rounds dealt from fixed cards, checking what each payout comes to in
+// ledger units and what is left in the bankroll.
+final class TableTest {
+    @Test
+    void blackjackPaysThreeToTwo() {
+        Bankroll bankroll = new Bankroll(100);
+        // Player A K, dealer 9 7.
+        assertEquals(45, new ScriptedPlayer().newTable("A9K7", TableRules.DEFAULT).playRound(3, bankroll));
+        assertEquals(1045, bankroll.getUnits());
+    }
+
+    // Insurance stakes half the bet and returns three halves of it when the
+    // dealer has blackjack, making up for the lost bet.
+    @Test
+    void insuranceReturnsThreeHalvesOfTheBet() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.insurance = true;
+        // Player T 9, dealer A K.
+        assertEquals(0, player.newTable("TA9K", TableRules.DEFAULT).playRound(3, bankroll));
+        assertEquals(1000, bankroll.getUnits());
+    }
+
+    @Test
+    void lostInsuranceCostsHalfTheBet() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.insurance = true;
+        // Player T 9 stands, dealer A 9 makes 20.
+        assertEquals(-45, player.newTable("TA99", TableRules.DEFAULT).playRound(3, bankroll));
+        assertEquals(955, bankroll.getUnits());
+    }
+
+    @Test
+    void declinedInsuranceIsReported() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        // Player T 9 stands, dealer A 9 makes 20.
+        assertEquals(-30, player.newTable("TA99", TableRules.DEFAULT).playRound(3, bankroll));
+        assertEquals(1, player.insuranceDeclines);
+        assertEquals(970, bankroll.getUnits());
+    }
+
+    // With three chips and two bet, doubling adds only the one chip left.
+    @Test
+    void doubleForLess() {
+        Bankroll bankroll = new Bankroll(3);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.handOption = HandOption.DOUBLE_DOWN;
+        // Player 6 5 doubles and draws a T, dealer T 7.
+        assertEquals(30, player.newTable("6T57T", TableRules.DEFAULT).playRound(2, bankroll));
+        assertEquals(60, bankroll.getUnits());
+    }
+
+    @Test
+    void splitSettlesBothHands() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        // Player 8 8 against T 7 splits, and each 8 draws a T.
+        assertEquals(40, player.newTable("8T87TT", TableRules.DEFAULT).playRound(2, bankroll));
+        assertEquals(Arrays.asList(Outcome.PLAYER_WINS, Outcome.PLAYER_WINS), player.outcomes);
+        assertEquals(1040, bankroll.getUnits());
+    }
+
+    // With hands=3 the first hand draws another 8 and splits again, then
+    // draws a third 8 and keeps it.
+    @Test
+    void resplitStopsAtTheHandLimit() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        TableRules rules = TableRules.DEFAULT.withMaxHands(3);
+        assertEquals(10, player.newTable("8T8788TT", rules).playRound(1, bankroll));
+        assertEquals(Arrays.asList(Outcome.DEALER_WINS, Outcome.PLAYER_WINS, Outcome.PLAYER_WINS),
+            player.outcomes);
+        assertEquals(2, player.splitsOffered);
+        assertEquals(0, player.splitDeclines);
+    }
+
+    // Split aces get one card each, are not split again and count an ace and
+    // a ten as 21, not blackjack.
+    @Test
+    void splitAcesGetOneCardEach() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        player.handOption = HandOption.HIT;
+        TableRules rules = TableRules.DEFAULT.withMaxHands(TableRules.MAX_HANDS);
+        // Player A A against T 7; the first ace draws another ace, the second a K.
+        assertEquals(0, player.newTable("ATA7AK", rules).playRound(1, bankroll));
+        assertEquals(Arrays.asList(Outcome.DEALER_WINS, Outcome.PLAYER_WINS), player.outcomes);
+        assertEquals(1, player.splitsOffered);
+    }
+
+    @Test
+    void doubleAfterSplit() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        player.doubleIfAllowed = true;
+        // Player 5 5 against T 7 splits, each 5 draws a 6 and doubles on a T.
+        assertEquals(40, player.newTable("5T576T6T", TableRules.DEFAULT).playRound(1, bankroll));
+        assertEquals(1040, bankroll.getUnits());
+    }
+
+    @Test
+    void noDoubleAfterSplit() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        player.doubleIfAllowed = true;
+        // The same split, but each 11 has to stand.
+        TableRules rules = TableRules.DEFAULT.withDoubleAfterSplit(false);
+        assertEquals(-20, player.newTable("5T5766", rules).playRound(1, bankroll));
+        assertEquals(980, bankroll.getUnits());
+    }
+
+    // Player 8 8 against T 7 keeps the pair and stands on 16.
+    @Test
+    void declinedSplitIsReported() {
+        Bankroll bankroll = new Bankroll(100);
+        ScriptedPlayer player = new ScriptedPlayer();
+        assertEquals(-10, player.newTable("8T87", TableRules.DEFAULT).playRound(1, bankroll));
+        assertEquals(1, player.splitsOffered);
+        assertEquals(1, player.splitDeclines);
+    }
+
+    // A bankroll of one chip covers the bet but not a second one, so the pair
+    // is played as it is and the split is not even offered.
+    @Test
+    void splitNotOfferedWhenTheBankrollCannotCoverIt() {
+        Bankroll bankroll = new Bankroll(1);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        assertEquals(-10, player.newTable("8T87", TableRules.DEFAULT).playRound(1, bankroll));
+        assertEquals(0, player.splitsOffered);
+        assertEquals(0, player.splitDeclines);
+        assertEquals(0, bankroll.getUnits());
+    }
+
+    // Two chips cover one split, but not the resplit.
+    @Test
+    void resplitNotOfferedWhenTheBankrollCannotCoverIt() {
+        Bankroll bankroll = new Bankroll(2);
+        ScriptedPlayer player = new ScriptedPlayer();
+        player.split = true;
+        TableRules rules = TableRules.DEFAULT.withMaxHands(3);
+        assertEquals(0, player.newTable("8T878T", rules).playRound(1, bankroll));
+        assertEquals(1, player.splitsOffered);
+        assertEquals(20, bankroll.getUnits());
+    }
+}